@@ -0,0 +1,29 @@
+package training.chessington.benchmark;
+
+import training.chessington.model.Board;
+
+/**
+ * The corpus of positions the benchmarks run over, covering the opening, middlegame and endgame.
+ */
+public enum BenchmarkPosition {
+    START("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"),
+    ITALIAN("r1bqk1nr/pppp1ppp/2n5/2b1p3/2B1P3/5N2/PPPP1PPP/RNBQK2R w KQkq - 4 4"),
+    KIWIPETE("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"),
+    SYMMETRICAL("r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"),
+    ROOK_ENDGAME("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"),
+    QUEEN_ENDGAME("8/5pk1/6p1/7p/3Q3P/6P1/5PK1/2q5 b - - 0 40");
+
+    private final String fen;
+
+    BenchmarkPosition(String fen) {
+        this.fen = fen;
+    }
+
+    public String getFen() {
+        return fen;
+    }
+
+    public Board createBoard() {
+        return Board.fromFen(fen);
+    }
+}
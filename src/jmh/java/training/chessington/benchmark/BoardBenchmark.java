@@ -0,0 +1,71 @@
+package training.chessington.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import training.chessington.model.Board;
+import training.chessington.model.Coordinates;
+import training.chessington.model.PlayerColour;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Threat detection over every square of the board, and the legal-move check used for checkmate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    @Param
+    private BenchmarkPosition position;
+
+    private Board board;
+    private PlayerColour sideToMove;
+    private Coordinates[] squares;
+
+    @Setup
+    public void setUp() {
+        board = position.createBoard();
+        sideToMove = board.getSideToMove();
+        squares = new Coordinates[64];
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                squares[row * 8 + col] = Coordinates.of(row, col);
+            }
+        }
+    }
+
+    @Benchmark
+    public int isSquareUnderThreat() {
+        int threatened = 0;
+        for (Coordinates square : squares) {
+            if (board.isSquareUnderThreat(square, sideToMove)) {
+                threatened++;
+            }
+        }
+        return threatened;
+    }
+
+    @Benchmark
+    public boolean hasNoMoves() {
+        return board.hasNoMoves(sideToMove);
+    }
+
+    @Benchmark
+    public void hasNoMovesForBothSides(Blackhole blackhole) {
+        blackhole.consume(board.hasNoMoves(PlayerColour.WHITE));
+        blackhole.consume(board.hasNoMoves(PlayerColour.BLACK));
+    }
+}
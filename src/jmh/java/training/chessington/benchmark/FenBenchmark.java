@@ -0,0 +1,49 @@
+package training.chessington.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import training.chessington.model.Board;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and writing FEN, for batch jobs that load positions in bulk.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FenBenchmark {
+    @Param
+    private BenchmarkPosition position;
+
+    private String fen;
+    private Board board;
+
+    @Setup
+    public void setUp() {
+        fen = position.getFen();
+        board = position.createBoard();
+    }
+
+    @Benchmark
+    public Board parse() {
+        return Board.fromFen(fen);
+    }
+
+    @Benchmark
+    public String format() {
+        return board.toFen();
+    }
+}
@@ -0,0 +1,156 @@
+package training.chessington.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import training.chessington.model.Board;
+import training.chessington.model.Coordinates;
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+import training.chessington.model.Move;
+import training.chessington.model.pieces.Piece;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The user-facing Game API: legal moves for every piece of the side to move, and validating and playing a move.
+ * Game keeps the legal moves of recent positions, so the moves are measured both in a game that has already
+ * generated them and in one that has not.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+    private static final int MOVES_PER_INVOCATION = 16;
+
+    @Param
+    private BenchmarkPosition position;
+
+    private Board board;
+    private Game game;
+    private Coordinates[] ownPieces;
+    private Move[] line;
+
+    @Setup
+    public void setUp() {
+        board = position.createBoard();
+        game = new Game(board);
+
+        List<Coordinates> found = new ArrayList<>();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Coordinates square = Coordinates.of(row, col);
+                Piece piece = board.get(square);
+                if (piece != null && piece.getColour() == board.getSideToMove()) {
+                    found.add(square);
+                    game.getAllowedMoves(square);
+                }
+            }
+        }
+        ownPieces = found.toArray(new Coordinates[0]);
+        line = playLine();
+    }
+
+    /**
+     * A line of random legal moves from the position that does not end the game, the same every run.
+     */
+    private Move[] playLine() {
+        for (long seed = 0; seed < 1000; seed++) {
+            SplittableRandom random = new SplittableRandom(seed);
+            Game played = new Game(board.copy());
+            Move[] moves = new Move[MOVES_PER_INVOCATION];
+            int count = 0;
+            try {
+                while (count < moves.length && !played.isEnded()) {
+                    List<Move> allowed = allowedMoves(played);
+                    moves[count] = allowed.get(random.nextInt(allowed.size()));
+                    played.makeMove(moves[count++]);
+                }
+            } catch (InvalidMoveException e) {
+                throw new IllegalStateException(e);
+            }
+            if (count == moves.length && !played.isEnded()) {
+                return moves;
+            }
+        }
+        throw new IllegalStateException("No line of " + MOVES_PER_INVOCATION + " moves from " + position);
+    }
+
+    private static List<Move> allowedMoves(Game game) {
+        List<Move> allowed = new ArrayList<>();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Coordinates square = Coordinates.of(row, col);
+                Piece piece = game.getBoard().get(square);
+                if (piece != null && piece.getColour() == game.getBoard().getSideToMove()) {
+                    allowed.addAll(game.getAllowedMoves(square));
+                }
+            }
+        }
+        return allowed;
+    }
+
+    /**
+     * A new game on a copy of the position for every invocation, for the benchmarks that change the game or need it
+     * not to have generated any moves yet. It is a state of its own so that only those benchmarks pay for the set-up.
+     */
+    @State(Scope.Thread)
+    public static class FreshGame {
+        private Game game;
+
+        @Setup(Level.Invocation)
+        public void setUp(GameBenchmark benchmark) {
+            game = new Game(benchmark.board.copy());
+        }
+    }
+
+    /**
+     * The warm-cache case: set-up has already asked about every square, so this only measures serving the moves.
+     */
+    @Benchmark
+    public void getAllowedMovesWarm(Blackhole blackhole) {
+        for (Coordinates square : ownPieces) {
+            blackhole.consume(game.getAllowedMoves(square));
+        }
+    }
+
+    /**
+     * The cold case: the first question in a new position generates all of its moves.
+     */
+    @Benchmark
+    public void getAllowedMovesCold(FreshGame fresh, Blackhole blackhole) {
+        for (Coordinates square : ownPieces) {
+            blackhole.consume(fresh.game.getAllowedMoves(square));
+        }
+    }
+
+    /**
+     * Plays the same line from the position each invocation, so the fresh game it needs is set up once per
+     * {@value #MOVES_PER_INVOCATION} moves rather than once per move.
+     */
+    @Benchmark
+    @OperationsPerInvocation(MOVES_PER_INVOCATION)
+    public Game makeMove(FreshGame fresh) throws InvalidMoveException {
+        for (Move move : line) {
+            fresh.game.makeMove(move);
+        }
+        return fresh.game;
+    }
+}
@@ -0,0 +1,71 @@
+package training.chessington.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import training.chessington.model.InvalidMoveException;
+import training.chessington.pgn.PgnGame;
+import training.chessington.pgn.PgnReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and replaying PGN, reported in games per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PgnBenchmark {
+    private static final int GAMES = 100;
+    private static final String GAME = "[Event \"Benchmark\"]\n[White \"White\"]\n[Black \"Black\"]\n[Result \"1-0\"]\n\n"
+            + "1. e4 e5 2. Nf3 Nc6 3. Bb5 a6 4. Ba4 Nf6 5. O-O Be7 6. Re1 b5 7. Bb3 d6 8. c3 O-O\n"
+            + "9. h3 Nb8 10. d4 Nbd7 11. c4 c6 12. cxb5 axb5 13. Nc3 Bb7 14. Bg5 b4 15. Nb1 h6\n"
+            + "16. Bh4 c5 17. dxe5 Nxe4 18. Bxe7 Qxe7 19. exd6 Qf6 20. Nbd2 Nxd6 1-0\n\n";
+
+    private byte[] pgn;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < GAMES; i++) {
+            builder.append(GAME);
+        }
+        pgn = builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public void read(Blackhole blackhole) throws IOException {
+        PgnReader reader = new PgnReader(Channels.newChannel(new ByteArrayInputStream(pgn)));
+        PgnGame game;
+        while ((game = reader.next()) != null) {
+            blackhole.consume(game);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public void replay(Blackhole blackhole) throws IOException, InvalidMoveException {
+        PgnReader reader = new PgnReader(Channels.newChannel(new ByteArrayInputStream(pgn)));
+        PgnGame game;
+        while ((game = reader.next()) != null) {
+            blackhole.consume(game.replay());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package training.chessington.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import training.chessington.model.Board;
+import training.chessington.model.Coordinates;
+import training.chessington.model.pieces.Piece;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Piece.getAllowedMoves for every piece of one type belonging to the side to move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PieceMovesBenchmark {
+    @Param
+    private BenchmarkPosition position;
+
+    @Param
+    private Piece.PieceType pieceType;
+
+    private Board board;
+    private Coordinates[] squares;
+
+    @Setup
+    public void setUp() {
+        board = position.createBoard();
+        List<Coordinates> found = new ArrayList<>();
+        for (int row = 0; row < 8; row++) {
+            for (int col = 0; col < 8; col++) {
+                Piece piece = board.get(Coordinates.of(row, col));
+                if (piece != null && piece.getType() == pieceType && piece.getColour() == board.getSideToMove()) {
+                    found.add(Coordinates.of(row, col));
+                }
+            }
+        }
+        squares = found.toArray(new Coordinates[0]);
+    }
+
+    @Benchmark
+    public void getAllowedMoves(Blackhole blackhole) {
+        for (Coordinates square : squares) {
+            blackhole.consume(board.get(square).getAllowedMoves(square, board));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package training.chessington.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import training.chessington.model.Board;
+import training.chessington.model.MoveList;
+import training.chessington.model.PackedMove;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Static exchange evaluation of every capture available to the side to move.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StaticExchangeBenchmark {
+    @Param({"ITALIAN", "KIWIPETE", "SYMMETRICAL"})
+    private BenchmarkPosition position;
+
+    private Board board;
+    private int[] captures;
+
+    @Setup
+    public void setUp() {
+        board = position.createBoard();
+        MoveList moves = new MoveList();
+        board.generateMoves(board.getSideToMove(), moves);
+        MoveList found = new MoveList();
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.isCapture(moves.get(i))) {
+                found.add(moves.get(i));
+            }
+        }
+        captures = new int[found.size()];
+        for (int i = 0; i < captures.length; i++) {
+            captures[i] = found.get(i);
+        }
+    }
+
+    @Benchmark
+    public void staticExchange(Blackhole blackhole) {
+        for (int capture : captures) {
+            blackhole.consume(board.staticExchange(capture));
+        }
+    }
+}
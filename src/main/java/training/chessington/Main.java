@@ -5,10 +5,15 @@ import javafx.scene.Group;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
+import training.chessington.engine.EngineConfig;
 import training.chessington.model.Board;
 import training.chessington.model.Game;
+import training.chessington.uci.UciEngine;
 import training.chessington.view.ChessApp;
 
+import java.io.IOException;
+import java.util.Arrays;
+
 public class Main extends Application {
 
     @Override
@@ -24,7 +29,11 @@ public class Main extends Application {
     }
 
 
-    public static void main(String[] args) {
-        launch(args);
+    public static void main(String[] args) throws IOException {
+        if (Arrays.asList(args).contains("--uci")) {
+            new UciEngine(System.in, System.out, EngineConfig.fromSystemProperties()).run();
+        } else {
+            launch(args);
+        }
     }
 }
@@ -0,0 +1,38 @@
+package training.chessington.engine;
+
+public class EngineConfig {
+    public static final int DEFAULT_HASH_MEGABYTES = 16;
+    public static final int DEFAULT_THREADS = 1;
+
+    private int hashMegabytes = DEFAULT_HASH_MEGABYTES;
+    private int threads = DEFAULT_THREADS;
+
+    public static EngineConfig fromSystemProperties() {
+        EngineConfig config = new EngineConfig();
+        config.setHashMegabytes(Integer.getInteger("chessington.hash", DEFAULT_HASH_MEGABYTES));
+        config.setThreads(Integer.getInteger("chessington.threads", DEFAULT_THREADS));
+        return config;
+    }
+
+    public int getHashMegabytes() {
+        return hashMegabytes;
+    }
+
+    public void setHashMegabytes(int hashMegabytes) {
+        if (hashMegabytes < 1) {
+            throw new IllegalArgumentException("Hash size must be at least 1 MB, was " + hashMegabytes);
+        }
+        this.hashMegabytes = hashMegabytes;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, was " + threads);
+        }
+        this.threads = threads;
+    }
+}
@@ -0,0 +1,131 @@
+package training.chessington.engine;
+
+import training.chessington.model.Board;
+import training.chessington.model.PlayerColour;
+import training.chessington.model.pieces.Piece;
+
+/**
+ * Static evaluation from material and piece-square tables, in centipawns from the side to move's point of view.
+ * Tables are written from White's side with the top row first, which matches the board's square order;
+ * Black's pieces read them mirrored.
+ */
+public final class Evaluation {
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+    private static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+
+    private static final int[] PAWN_TABLE = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] KNIGHT_TABLE = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP_TABLE = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK_TABLE = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+
+    private static final int[] QUEEN_TABLE = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+
+    private static final int[] KING_MIDDLEGAME_TABLE = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME_TABLE = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] TABLES = {PAWN_TABLE, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE, KING_MIDDLEGAME_TABLE};
+
+    private static final int ENDGAME_MATERIAL = 1300;
+
+    private Evaluation() {
+    }
+
+    public static int pieceValue(Piece.PieceType type) {
+        return PIECE_VALUES[type.ordinal()];
+    }
+
+    public static int evaluate(Board board) {
+        boolean endgame = nonPawnMaterial(board, PlayerColour.WHITE) <= ENDGAME_MATERIAL
+                && nonPawnMaterial(board, PlayerColour.BLACK) <= ENDGAME_MATERIAL;
+
+        int score = evaluate(board, PlayerColour.WHITE, endgame) - evaluate(board, PlayerColour.BLACK, endgame);
+        return board.getSideToMove() == PlayerColour.WHITE ? score : -score;
+    }
+
+    private static int evaluate(Board board, PlayerColour colour, boolean endgame) {
+        int mirror = colour == PlayerColour.WHITE ? 0 : 56;
+        int score = 0;
+        for (Piece.PieceType type : PIECE_TYPES) {
+            int[] table = type == Piece.PieceType.KING && endgame ? KING_ENDGAME_TABLE : TABLES[type.ordinal()];
+            for (long pieces = board.getBitboard(type, colour); pieces != 0; pieces &= pieces - 1) {
+                score += PIECE_VALUES[type.ordinal()] + table[Long.numberOfTrailingZeros(pieces) ^ mirror];
+            }
+        }
+        return score;
+    }
+
+    private static int nonPawnMaterial(Board board, PlayerColour colour) {
+        int material = 0;
+        for (int type = Piece.PieceType.KNIGHT.ordinal(); type < Piece.PieceType.KING.ordinal(); type++) {
+            material += PIECE_VALUES[type] * Long.bitCount(board.getBitboard(PIECE_TYPES[type], colour));
+        }
+        return material;
+    }
+}
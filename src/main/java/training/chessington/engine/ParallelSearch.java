@@ -0,0 +1,134 @@
+package training.chessington.engine;
+
+import training.chessington.model.Board;
+import training.chessington.model.Game;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lazy SMP: every thread searches its own copy of the root position, sharing only the transposition table.
+ * Helper threads start one ply deeper on alternate threads so they fill the table ahead of the main thread,
+ * and the answer is taken from whichever thread completed the deepest iteration.
+ * The main thread enforces the limits and stops the helpers when it finishes.
+ */
+public class ParallelSearch implements AutoCloseable {
+    private final TranspositionTable table;
+    private final Search[] searches;
+    private final ExecutorService helpers;
+
+    public ParallelSearch(TranspositionTable table, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, was " + threads);
+        }
+        this.table = table;
+        searches = new Search[threads];
+        for (int i = 0; i < threads; i++) {
+            searches[i] = new Search(table);
+        }
+        helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            Thread thread = new Thread(runnable, "search-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static ParallelSearch fromConfig(EngineConfig config) {
+        return new ParallelSearch(TranspositionTable.fromConfig(config), config.getThreads());
+    }
+
+    public int getThreads() {
+        return searches.length;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    public SearchResult search(Game game, SearchLimits limits) {
+        prepare();
+        return run(game.getBoard(), game.getEarlierPositionKeys(), limits);
+    }
+
+    public SearchResult search(Board board, SearchLimits limits) {
+        prepare();
+        return run(board, limits);
+    }
+
+    /**
+     * Readies every thread for a new search. A caller that hands {@link #run} to another thread calls this first,
+     * so that a {@link #stop} arriving before the search has started is not lost.
+     */
+    public void prepare() {
+        table.newSearch();
+        for (Search search : searches) {
+            search.prepare();
+        }
+    }
+
+    public SearchResult run(Board board, SearchLimits limits) {
+        return run(board, new long[0], limits);
+    }
+
+    /**
+     * Searches the board as reached through the given earlier positions, oldest first, so that the search sees
+     * repetitions of positions played before it started.
+     */
+    public SearchResult run(Board board, long[] earlierKeys, SearchLimits limits) {
+        long start = System.currentTimeMillis();
+        SearchLimits helperLimits = SearchLimits.depth(limits.getDepth());
+        List<Future<SearchResult>> helperResults = new ArrayList<>();
+        for (int i = 1; i < searches.length; i++) {
+            Search helper = searches[i];
+            Board helperBoard = board.copy();
+            int startDepth = 1 + i % 2;
+            helperResults.add(helpers.submit(() -> helper.run(helperBoard, earlierKeys, helperLimits, startDepth)));
+        }
+
+        SearchResult best = searches[0].run(board.copy(), earlierKeys, limits, 1);
+        for (int i = 1; i < searches.length; i++) {
+            searches[i].stop();
+        }
+
+        long totalNodes = searches[0].getNodes();
+        for (int i = 0; i < helperResults.size(); i++) {
+            SearchResult helperResult = getQuietly(helperResults.get(i));
+            totalNodes += searches[i + 1].getNodes();
+            if (helperResult != null && helperResult.getBestMove() != null && helperResult.getDepth() > best.getDepth()) {
+                best = helperResult;
+            }
+        }
+
+        return new SearchResult(best.getBestPackedMove(), best.getScore(), best.getDepth(), totalNodes,
+                System.currentTimeMillis() - start, best.getPrincipalVariation());
+    }
+
+    public void stop() {
+        for (Search search : searches) {
+            search.stop();
+        }
+    }
+
+    @Override
+    public void close() {
+        stop();
+        if (helpers != null) {
+            helpers.shutdownNow();
+        }
+    }
+
+    private static SearchResult getQuietly(Future<SearchResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Helper search failed", e.getCause());
+        }
+    }
+}
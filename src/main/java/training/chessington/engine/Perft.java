@@ -0,0 +1,110 @@
+package training.chessington.engine;
+
+import training.chessington.model.Board;
+import training.chessington.model.Fen;
+import training.chessington.model.LegalMoveGenerator;
+import training.chessington.model.MoveList;
+import training.chessington.model.PackedMove;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth, to check move generation against
+ * published counts and to measure its speed. At the last ply legal moves are counted without being
+ * searched any further (bulk counting).
+ */
+public class Perft {
+    private final Board board;
+    private final MoveList[] moveLists;
+
+    public Perft(Board board, int maxDepth) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Maximum depth must not be negative, was " + maxDepth);
+        }
+        this.board = board;
+        moveLists = new MoveList[maxDepth + 1];
+        for (int i = 0; i < moveLists.length; i++) {
+            moveLists[i] = new MoveList();
+        }
+    }
+
+    public long perft(int depth) {
+        checkDepth(depth, 0);
+        return count(depth);
+    }
+
+    private long count(int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+
+        MoveList moves = moveLists[depth];
+        moves.clear();
+        LegalMoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+        if (depth == 1) {
+            return moves.size();
+        }
+
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += count(depth - 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    public Map<String, Long> divide(int depth) {
+        checkDepth(depth, 1);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            board.makeMove(move);
+            counts.put(PackedMove.toAlgebraic(move), count(depth - 1));
+            board.unmakeMove();
+        }
+        return counts;
+    }
+
+    private void checkDepth(int depth, int minDepth) {
+        int maxDepth = moveLists.length - 1;
+        if (depth < minDepth || depth > maxDepth) {
+            throw new IllegalArgumentException(
+                    "Depth must be between " + minDepth + " and " + maxDepth + ", was " + depth);
+        }
+    }
+
+    /**
+     * Usage: Perft depth [divide] [fen]
+     */
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        boolean divide = args.length > 1 && args[1].equals("divide");
+        int fenStart = divide ? 2 : 1;
+        String fen = args.length > fenStart ? String.join(" ", Arrays.copyOfRange(args, fenStart, args.length)) : Fen.STARTING_POSITION;
+        Perft perft = new Perft(Board.fromFen(fen), depth);
+
+        long start = System.nanoTime();
+        long nodes;
+        if (divide) {
+            nodes = 0;
+            for (Map.Entry<String, Long> entry : perft.divide(depth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                nodes += entry.getValue();
+            }
+        } else {
+            nodes = perft.perft(depth);
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+        System.out.println();
+        System.out.println("Nodes: " + nodes);
+        System.out.println("Time: " + elapsedNanos / 1_000_000 + " ms");
+        System.out.println("Nodes per second: " + nodes * 1_000_000_000L / elapsedNanos);
+    }
+}
@@ -0,0 +1,453 @@
+package training.chessington.engine;
+
+import training.chessington.model.Bitboards;
+import training.chessington.model.Board;
+import training.chessington.model.Game;
+import training.chessington.model.MoveList;
+import training.chessington.model.PackedMove;
+import training.chessington.model.PlayerColour;
+import training.chessington.model.StaticExchange;
+import training.chessington.model.pieces.Piece;
+
+import java.util.Arrays;
+
+/**
+ * Iterative deepening alpha-beta search with principal variation search, a transposition table,
+ * hash move, MVV-LVA, killer and history move ordering with losing captures found by static exchange evaluation put
+ * last, and a quiescence search over the captures and queen promotions that do not lose material.
+ * The board is searched in place with makeMove/unmakeMove and is left as it was found.
+ */
+public class Search {
+    public static final int INFINITY = 32000;
+    public static final int MATE = 31000;
+    public static final int MAX_PLY = 128;
+
+    private static final int CHECK_LIMITS_EVERY = 1024;
+    private static final long[] NO_KEYS = new long[0];
+
+    private static final int HASH_MOVE_SCORE = 1 << 30;
+    private static final int CAPTURE_SCORE = 1 << 28;
+    private static final int FIRST_KILLER_SCORE = 1 << 27;
+    private static final int SECOND_KILLER_SCORE = FIRST_KILLER_SCORE - 1;
+
+    private final TranspositionTable table;
+
+    private final MoveList[] moveLists = new MoveList[MAX_PLY + 1];
+    private final int[][] moveScores = new int[MAX_PLY + 1][256];
+    private final int[][] killers = new int[MAX_PLY + 1][2];
+    private final int[][] history = new int[PlayerColour.values().length * Bitboards.PIECE_TYPES][Bitboards.SQUARES];
+    private final long[] pathKeys = new long[MAX_PLY + 1];
+    private long[] gameKeys = NO_KEYS;
+
+    private Board board;
+    private int rootBestMove;
+    private long nodes;
+    private long nodeLimit;
+    private long deadline;
+    private volatile boolean stopped;
+
+    public Search(TranspositionTable table) {
+        this.table = table;
+        for (int ply = 0; ply < moveLists.length; ply++) {
+            moveLists[ply] = new MoveList();
+        }
+    }
+
+    public SearchResult search(Game game, SearchLimits limits) {
+        return search(game.getBoard(), game.getEarlierPositionKeys(), limits);
+    }
+
+    public SearchResult search(Board board, SearchLimits limits) {
+        return search(board, NO_KEYS, limits);
+    }
+
+    /**
+     * Searches the board as reached through the given earlier positions, oldest first, so that returning to one of
+     * them is scored as a draw.
+     */
+    public SearchResult search(Board board, long[] earlierKeys, SearchLimits limits) {
+        table.newSearch();
+        prepare();
+        return run(board, earlierKeys, limits, 1);
+    }
+
+    /**
+     * Clears the stop flag and move ordering statistics; called before {@link #run} so that a stop
+     * requested while a search is being handed to another thread is not lost.
+     */
+    void prepare() {
+        stopped = false;
+        nodes = 0;
+        for (int[] killer : killers) {
+            Arrays.fill(killer, PackedMove.NONE);
+        }
+        for (int[] scores : history) {
+            Arrays.fill(scores, 0);
+        }
+    }
+
+    SearchResult run(Board board, long[] earlierKeys, SearchLimits limits, int startDepth) {
+        this.board = board;
+        this.gameKeys = earlierKeys;
+        long start = System.currentTimeMillis();
+        nodeLimit = limits.getNodes();
+        deadline = limits.getMoveTimeMillis() == Long.MAX_VALUE ? Long.MAX_VALUE : start + limits.getMoveTimeMillis();
+
+        SearchResult result = new SearchResult(PackedMove.NONE, 0, 0, 0, 0, new int[0]);
+        for (int depth = Math.min(startDepth, limits.getDepth()); depth <= limits.getDepth(); depth++) {
+            rootBestMove = PackedMove.NONE;
+            int score = alphaBeta(depth, -INFINITY, INFINITY, 0);
+            if (stopped) {
+                if (result.getBestPackedMove() == PackedMove.NONE && rootBestMove != PackedMove.NONE) {
+                    // Nothing completed yet, so fall back to the best move of the unfinished iteration
+                    result = new SearchResult(rootBestMove, score, depth - 1, nodes, System.currentTimeMillis() - start,
+                            new int[]{rootBestMove});
+                }
+                break;
+            }
+
+            result = new SearchResult(rootBestMove, score, depth, nodes, System.currentTimeMillis() - start,
+                    principalVariation(rootBestMove, depth));
+
+            if (stopped || rootBestMove == PackedMove.NONE || Math.abs(score) >= MATE - depth) {
+                break;
+            }
+        }
+
+        this.board = null;
+        this.gameKeys = NO_KEYS;
+        return result;
+    }
+
+    public void stop() {
+        stopped = true;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    private int alphaBeta(int depth, int alpha, int beta, int ply) {
+        boolean pvNode = beta - alpha > 1;
+        long key = board.getZobristKey();
+        pathKeys[ply] = key;
+
+        if (ply > 0) {
+            if (isRepetition(ply) || board.hasInsufficientMaterial() || isFiftyMoveDraw()) {
+                return 0;
+            }
+            // A mate found closer to the root makes anything longer irrelevant
+            alpha = Math.max(alpha, -MATE + ply);
+            beta = Math.min(beta, MATE - ply - 1);
+            if (alpha >= beta) {
+                return alpha;
+            }
+        }
+
+        PlayerColour us = board.getSideToMove();
+        boolean inCheck = board.isInCheck(us);
+        if (inCheck && ply < MAX_PLY) {
+            depth++;
+        }
+
+        if (depth <= 0 || ply >= MAX_PLY) {
+            return quiescence(alpha, beta, ply);
+        }
+
+        nodes++;
+        if (shouldStop()) {
+            return 0;
+        }
+
+        long data = table.probe(key);
+        int hashMove = TranspositionTable.getMove(data);
+        if (data != TranspositionTable.NO_ENTRY && !pvNode && ply > 0 && TranspositionTable.getDepth(data) >= depth) {
+            int hashScore = scoreFromTable(TranspositionTable.getScore(data), ply);
+            int bound = TranspositionTable.getBound(data);
+            if (bound == TranspositionTable.BOUND_EXACT
+                    || (bound == TranspositionTable.BOUND_LOWER && hashScore >= beta)
+                    || (bound == TranspositionTable.BOUND_UPPER && hashScore <= alpha)) {
+                return hashScore;
+            }
+        }
+
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        board.generateMoves(us, moves);
+        scoreMoves(moves, ply, hashMove);
+
+        int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = PackedMove.NONE;
+        int legalMoves = 0;
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = pickNext(moves, ply, i);
+            board.makeMove(move);
+            if (board.isInCheck(us)) {
+                board.unmakeMove();
+                continue;
+            }
+            legalMoves++;
+
+            int score;
+            if (legalMoves == 1) {
+                score = -alphaBeta(depth - 1, -beta, -alpha, ply + 1);
+            } else {
+                score = -alphaBeta(depth - 1, -alpha - 1, -alpha, ply + 1);
+                if (score > alpha && score < beta) {
+                    score = -alphaBeta(depth - 1, -beta, -alpha, ply + 1);
+                }
+            }
+            board.unmakeMove();
+
+            if (stopped) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        if (!isTactical(move)) {
+                            updateQuietMoveStats(move, ply, depth);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (legalMoves == 0) {
+            return inCheck ? -MATE + ply : 0;
+        }
+
+        int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+                : bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT
+                : TranspositionTable.BOUND_UPPER;
+        table.store(key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+        return bestScore;
+    }
+
+    private int quiescence(int alpha, int beta, int ply) {
+        nodes++;
+        if (shouldStop()) {
+            return 0;
+        }
+
+        if (board.hasInsufficientMaterial()) {
+            return 0;
+        }
+
+        int standPat = Evaluation.evaluate(board);
+        if (standPat >= beta || ply >= MAX_PLY) {
+            return standPat;
+        }
+        alpha = Math.max(alpha, standPat);
+
+        PlayerColour us = board.getSideToMove();
+        MoveList moves = moveLists[ply];
+        moves.clear();
+        board.generateMoves(us, moves);
+        scoreMoves(moves, ply, PackedMove.NONE);
+
+        for (int i = 0; i < moves.size(); i++) {
+            int move = pickNext(moves, ply, i);
+            if (moveScores[ply][i] < CAPTURE_SCORE) {
+                // Captures and queen promotions that do not lose material are ordered first, and the rest are not
+                // worth searching here
+                break;
+            }
+
+            board.makeMove(move);
+            if (board.isInCheck(us)) {
+                board.unmakeMove();
+                continue;
+            }
+            int score = -quiescence(-beta, -alpha, ply + 1);
+            board.unmakeMove();
+
+            if (stopped) {
+                return 0;
+            }
+            if (score >= beta) {
+                return score;
+            }
+            alpha = Math.max(alpha, score);
+        }
+        return alpha;
+    }
+
+    private void scoreMoves(MoveList moves, int ply, int hashMove) {
+        int[] scores = moveScores[ply];
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (move == hashMove) {
+                scores[i] = HASH_MOVE_SCORE;
+            } else if (isTactical(move)) {
+                // Captures that lose material go after every quiet move, with the cheapest losses first
+                int exchange = cannotLoseMaterial(move) ? 0 : board.staticExchange(move);
+                scores[i] = exchange >= 0 ? CAPTURE_SCORE + mvvLva(move) : exchange;
+            } else if (move == killers[ply][0]) {
+                scores[i] = FIRST_KILLER_SCORE;
+            } else if (move == killers[ply][1]) {
+                scores[i] = SECOND_KILLER_SCORE;
+            } else {
+                scores[i] = history[pieceIndex(PackedMove.getFrom(move))][PackedMove.getTo(move)];
+            }
+        }
+    }
+
+    private int mvvLva(int move) {
+        Piece attacker = board.get(PackedMove.getFrom(move));
+        Piece victim = board.get(PackedMove.getTo(move));
+        int gain = 0;
+        if (PackedMove.hasFlag(move, PackedMove.EN_PASSANT)) {
+            gain = Evaluation.pieceValue(Piece.PieceType.PAWN);
+        } else if (victim != null) {
+            gain = Evaluation.pieceValue(victim.getType());
+        }
+        if (PackedMove.getPromotion(move) != null) {
+            gain += Evaluation.pieceValue(PackedMove.getPromotion(move));
+        }
+        return gain * 16 - attacker.getType().ordinal();
+    }
+
+    /**
+     * Taking a piece worth at least as much as the capturer wins or holds material whatever follows.
+     */
+    private boolean cannotLoseMaterial(int move) {
+        Piece victim = board.get(PackedMove.getTo(move));
+        Piece.PieceType attacker = board.get(PackedMove.getFrom(move)).getType();
+        return PackedMove.hasFlag(move, PackedMove.EN_PASSANT) || (victim != null
+                && StaticExchange.value(victim.getType()) >= StaticExchange.value(attacker));
+    }
+
+    private static boolean isTactical(int move) {
+        return PackedMove.isCapture(move) || PackedMove.getPromotion(move) == Piece.PieceType.QUEEN;
+    }
+
+    private int pickNext(MoveList moves, int ply, int index) {
+        int[] scores = moveScores[ply];
+        int best = index;
+        for (int i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+
+        int move = moves.get(best);
+        int score = scores[best];
+        moves.set(best, moves.get(index));
+        scores[best] = scores[index];
+        moves.set(index, move);
+        scores[index] = score;
+        return move;
+    }
+
+    private void updateQuietMoveStats(int move, int ply, int depth) {
+        if (killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+
+        int[] pieceHistory = history[pieceIndex(PackedMove.getFrom(move))];
+        int to = PackedMove.getTo(move);
+        pieceHistory[to] = Math.min(pieceHistory[to] + depth * depth, FIRST_KILLER_SCORE - 1);
+    }
+
+    private int pieceIndex(int square) {
+        Piece piece = board.get(square);
+        return Bitboards.index(piece.getType(), piece.getColour());
+    }
+
+    /**
+     * Whether the position at this ply has occurred before, either earlier in the search or in the game before it.
+     * Only positions since the last pawn move or capture can match, so the halfmove clock bounds the look back.
+     */
+    private boolean isRepetition(int ply) {
+        long key = pathKeys[ply];
+        int reach = board.getHalfmoveClock();
+        for (int distance = 2; distance <= reach; distance += 2) {
+            int index = ply - distance;
+            if (index < -gameKeys.length) {
+                break;
+            }
+            if ((index >= 0 ? pathKeys[index] : gameKeys[gameKeys.length + index]) == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A hundred halfmoves without a pawn move or capture is a draw, unless the last of them gave checkmate.
+     */
+    private boolean isFiftyMoveDraw() {
+        if (board.getHalfmoveClock() < 100) {
+            return false;
+        }
+        PlayerColour us = board.getSideToMove();
+        return !board.isInCheck(us) || !board.hasNoMoves(us);
+    }
+
+    private boolean shouldStop() {
+        if (stopped) {
+            return true;
+        }
+        if ((nodes & (CHECK_LIMITS_EVERY - 1)) == 0 && System.currentTimeMillis() >= deadline) {
+            stopped = true;
+        } else if (nodes >= nodeLimit) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    private int[] principalVariation(int firstMove, int depth) {
+        int[] line = new int[depth];
+        int length = 0;
+        MoveList moves = new MoveList();
+        int move = firstMove;
+        while (length < depth) {
+            if (length > 0) {
+                move = TranspositionTable.getMove(table.probe(board.getZobristKey()));
+            }
+            moves.clear();
+            board.generateMoves(board.getSideToMove(), moves);
+            if (move == PackedMove.NONE || !moves.contains(move) || !board.leavesKingSafe(move)) {
+                break;
+            }
+            line[length++] = move;
+            board.makeMove(move);
+        }
+        for (int i = 0; i < length; i++) {
+            board.unmakeMove();
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,55 @@
+package training.chessington.engine;
+
+public class SearchLimits {
+    public static final int MAX_DEPTH = 64;
+
+    private int depth = MAX_DEPTH;
+    private long nodes = Long.MAX_VALUE;
+    private long moveTimeMillis = Long.MAX_VALUE;
+
+    public static SearchLimits depth(int depth) {
+        SearchLimits limits = new SearchLimits();
+        limits.setDepth(depth);
+        return limits;
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        SearchLimits limits = new SearchLimits();
+        limits.setNodes(nodes);
+        return limits;
+    }
+
+    public static SearchLimits moveTime(long millis) {
+        SearchLimits limits = new SearchLimits();
+        limits.setMoveTimeMillis(millis);
+        return limits;
+    }
+
+    public static SearchLimits infinite() {
+        return new SearchLimits();
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = Math.max(1, Math.min(depth, MAX_DEPTH));
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(long nodes) {
+        this.nodes = nodes;
+    }
+
+    public long getMoveTimeMillis() {
+        return moveTimeMillis;
+    }
+
+    public void setMoveTimeMillis(long moveTimeMillis) {
+        this.moveTimeMillis = moveTimeMillis;
+    }
+}
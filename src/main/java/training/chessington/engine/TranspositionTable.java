@@ -0,0 +1,128 @@
+package training.chessington.engine;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size hash table of search results shared by all search threads without locking.
+ * Each entry is two longs: the position key XORed with the data, then the data itself.
+ * A reader only accepts an entry if XORing the two gives back its key, so an entry torn by
+ * a concurrent write is seen as a miss rather than as another position's data.
+ */
+public final class TranspositionTable {
+    public static final long NO_ENTRY = 0;
+
+    public static final int BOUND_EXACT = 1;
+    public static final int BOUND_LOWER = 2;
+    public static final int BOUND_UPPER = 3;
+
+    private static final int BYTES_PER_ENTRY = 16;
+
+    private static final long MOVE_MASK = 0xFFFFFFL;
+    private static final int SCORE_SHIFT = 24;
+    private static final int DEPTH_SHIFT = 40;
+    private static final int BOUND_SHIFT = 48;
+    private static final int GENERATION_SHIFT = 50;
+
+    private final long[] table;
+    private final int indexMask;
+    private volatile int generation;
+
+    public TranspositionTable(int megabytes) {
+        long entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        if (entries < 1 || entries > (1 << 29)) {
+            throw new IllegalArgumentException("Unsupported transposition table size: " + megabytes + " MB");
+        }
+        table = new long[(int) entries * 2];
+        indexMask = (int) entries - 1;
+    }
+
+    public static TranspositionTable fromConfig(EngineConfig config) {
+        return new TranspositionTable(config.getHashMegabytes());
+    }
+
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+    }
+
+    public long probe(long key) {
+        int slot = slot(key);
+        long data = table[slot + 1];
+        if ((table[slot] ^ data) != key) {
+            return NO_ENTRY;
+        }
+        return data;
+    }
+
+    public void store(long key, int move, int score, int depth, int bound) {
+        int slot = slot(key);
+        long oldData = table[slot + 1];
+        boolean sameKey = (table[slot] ^ oldData) == key;
+
+        if (sameKey) {
+            if (depth < getDepth(oldData) && bound != BOUND_EXACT) {
+                return;
+            }
+        } else if (oldData != NO_ENTRY && getGeneration(oldData) == generation && depth < getDepth(oldData)) {
+            return;
+        }
+
+        if (sameKey && move == 0) {
+            move = getMove(oldData);
+        }
+
+        long data = (move & MOVE_MASK)
+                | ((score & 0xFFFFL) << SCORE_SHIFT)
+                | ((long) Math.min(Math.max(depth, 0), 0xFF) << DEPTH_SHIFT)
+                | ((long) bound << BOUND_SHIFT)
+                | ((long) generation << GENERATION_SHIFT);
+        table[slot] = key ^ data;
+        table[slot + 1] = data;
+    }
+
+    /**
+     * Returns how full the table is with entries from the current search, in parts per thousand.
+     */
+    public int hashfull() {
+        int sample = Math.min(1000, indexMask + 1);
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            long data = table[i * 2 + 1];
+            if (data != NO_ENTRY && getGeneration(data) == generation) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    public int capacity() {
+        return indexMask + 1;
+    }
+
+    private int slot(long key) {
+        return ((int) (key ^ (key >>> 32)) & indexMask) << 1;
+    }
+
+    public static int getMove(long data) {
+        return (int) (data & MOVE_MASK);
+    }
+
+    public static int getScore(long data) {
+        return (short) (data >>> SCORE_SHIFT);
+    }
+
+    public static int getDepth(long data) {
+        return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    public static int getBound(long data) {
+        return (int) ((data >>> BOUND_SHIFT) & 0x3);
+    }
+
+    private static int getGeneration(long data) {
+        return (int) ((data >>> GENERATION_SHIFT) & 0xFF);
+    }
+}
@@ -0,0 +1,96 @@
+package training.chessington.model;
+
+import training.chessington.model.pieces.Piece;
+
+/**
+ * Attack queries that look outward from the target square: a square is attacked by a knight, king or pawn
+ * if one stands on a square that the same piece type could attack from the target, and by a slider if one
+ * is the first piece along a matching ray. No enemy moves are generated.
+ */
+public final class Attacks {
+    private static final long[] KNIGHT_ATTACKS = new long[Bitboards.SQUARES];
+    private static final long[] KING_ATTACKS = new long[Bitboards.SQUARES];
+    private static final long[][] PAWN_ATTACKS = new long[PlayerColour.values().length][Bitboards.SQUARES];
+    private static final int[][] KNIGHT_STEPS = {{2, 1}, {2, -1}, {-2, 1}, {-2, -1}, {1, 2}, {1, -2}, {-1, 2}, {-1, -2}};
+
+    static {
+        for (int square = 0; square < Bitboards.SQUARES; square++) {
+            int row = Bitboards.row(square);
+            int col = Bitboards.col(square);
+            for (int[] step : KNIGHT_STEPS) {
+                KNIGHT_ATTACKS[square] |= stepBit(row + step[0], col + step[1]);
+            }
+            for (int rowStep = -1; rowStep <= 1; rowStep++) {
+                for (int colStep = -1; colStep <= 1; colStep++) {
+                    if (rowStep != 0 || colStep != 0) {
+                        KING_ATTACKS[square] |= stepBit(row + rowStep, col + colStep);
+                    }
+                }
+            }
+            PAWN_ATTACKS[PlayerColour.WHITE.ordinal()][square] = stepBit(row - 1, col - 1) | stepBit(row - 1, col + 1);
+            PAWN_ATTACKS[PlayerColour.BLACK.ordinal()][square] = stepBit(row + 1, col - 1) | stepBit(row + 1, col + 1);
+        }
+    }
+
+    private Attacks() {
+    }
+
+    public static long knight(int square) {
+        return KNIGHT_ATTACKS[square];
+    }
+
+    public static long king(int square) {
+        return KING_ATTACKS[square];
+    }
+
+    public static long pawn(PlayerColour colour, int square) {
+        return PAWN_ATTACKS[colour.ordinal()][square];
+    }
+
+    public static boolean isAttacked(Board board, int square, PlayerColour attacker) {
+        return attackers(board, square, attacker, board.getOccupied()) != 0;
+    }
+
+    public static long attackers(Board board, int square, PlayerColour attacker) {
+        return attackers(board, square, attacker, board.getOccupied());
+    }
+
+    /**
+     * The pieces of the attacking colour that attack a square, with sliders blocked by the given occupancy
+     * rather than the board's, so callers can ask what would be attacked once pieces have moved.
+     */
+    public static long attackers(Board board, int square, PlayerColour attacker, long occupied) {
+        return (KNIGHT_ATTACKS[square] & board.getBitboard(Piece.PieceType.KNIGHT, attacker))
+                | (KING_ATTACKS[square] & board.getBitboard(Piece.PieceType.KING, attacker))
+                | (PAWN_ATTACKS[attacker.opponent().ordinal()][square] & board.getBitboard(Piece.PieceType.PAWN, attacker))
+                | (MagicBitboards.rookAttacks(square, occupied) & straightSliders(board, attacker))
+                | (MagicBitboards.bishopAttacks(square, occupied) & diagonalSliders(board, attacker));
+    }
+
+    public static long straightSliders(Board board, PlayerColour colour) {
+        return board.getBitboard(Piece.PieceType.ROOK, colour) | board.getBitboard(Piece.PieceType.QUEEN, colour);
+    }
+
+    public static long diagonalSliders(Board board, PlayerColour colour) {
+        return board.getBitboard(Piece.PieceType.BISHOP, colour) | board.getBitboard(Piece.PieceType.QUEEN, colour);
+    }
+
+    /**
+     * The squares strictly between two squares on a shared rank, file or diagonal, or none if they do not share one.
+     */
+    public static long between(int from, int to) {
+        long toBit = Bitboards.bit(to);
+        long fromBit = Bitboards.bit(from);
+        if ((MagicBitboards.rookAttacks(from, 0) & toBit) != 0) {
+            return MagicBitboards.rookAttacks(from, toBit) & MagicBitboards.rookAttacks(to, fromBit);
+        }
+        if ((MagicBitboards.bishopAttacks(from, 0) & toBit) != 0) {
+            return MagicBitboards.bishopAttacks(from, toBit) & MagicBitboards.bishopAttacks(to, fromBit);
+        }
+        return 0;
+    }
+
+    private static long stepBit(int row, int col) {
+        return 0 <= row && row < 8 && 0 <= col && col < 8 ? Bitboards.bit(Bitboards.square(row, col)) : 0;
+    }
+}
@@ -0,0 +1,50 @@
+package training.chessington.model;
+
+import training.chessington.model.pieces.Piece;
+
+/**
+ * Helpers for the bitboard representation used by {@link Board}.
+ * Squares are indexed row-major from the top-left of the board, so square = row * 8 + col
+ * and bit n of a bitboard is set when square n is occupied.
+ */
+public final class Bitboards {
+    public static final int SQUARES = 64;
+    public static final int PIECE_TYPES = Piece.PieceType.values().length;
+    public static final int NO_SQUARE = -1;
+    public static final long LIGHT_SQUARES = 0xAA55AA55AA55AA55L;
+
+    private Bitboards() {
+    }
+
+    public static int square(int row, int col) {
+        return (row << 3) | col;
+    }
+
+    public static int square(Coordinates coords) {
+        return square(coords.getRow(), coords.getCol());
+    }
+
+    public static int row(int square) {
+        return square >>> 3;
+    }
+
+    public static int col(int square) {
+        return square & 7;
+    }
+
+    public static Coordinates toCoordinates(int square) {
+        return Coordinates.of(row(square), col(square));
+    }
+
+    public static String toAlgebraic(int square) {
+        return "" + (char) ('a' + col(square)) + (char) ('8' - row(square));
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    public static int index(Piece.PieceType type, PlayerColour colour) {
+        return colour.ordinal() * PIECE_TYPES + type.ordinal();
+    }
+}
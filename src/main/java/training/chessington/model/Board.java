@@ -2,11 +2,54 @@ package training.chessington.model;
 
 import training.chessington.model.pieces.*;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 public class Board {
+    private static final int INITIAL_UNDO_CAPACITY = 256;
+
+    // Undo records hold the move, the previous last move, castling rights and en passant square
+    private static final long UNDO_MOVE_MASK = 0xFFFFFFL;
+    private static final int UNDO_LAST_MOVE_SHIFT = 24;
+    private static final int UNDO_CASTLING_SHIFT = 48;
+    private static final int UNDO_EN_PASSANT_SHIFT = 52;
+
+    private static final int ALL_CASTLING_RIGHTS = Zobrist.WHITE_KINGSIDE | Zobrist.WHITE_QUEENSIDE
+            | Zobrist.BLACK_KINGSIDE | Zobrist.BLACK_QUEENSIDE;
+    private static final int KING_HOME_COL = 4;
+
+    // The castling rights that survive a move from or to each square
+    private static final int[] CASTLING_RIGHTS_KEPT = new int[Bitboards.SQUARES];
+
+    static {
+        Arrays.fill(CASTLING_RIGHTS_KEPT, ALL_CASTLING_RIGHTS);
+        CASTLING_RIGHTS_KEPT[Bitboards.square(7, KING_HOME_COL)] &= ~(Zobrist.WHITE_KINGSIDE | Zobrist.WHITE_QUEENSIDE);
+        CASTLING_RIGHTS_KEPT[Bitboards.square(7, 7)] &= ~Zobrist.WHITE_KINGSIDE;
+        CASTLING_RIGHTS_KEPT[Bitboards.square(7, 0)] &= ~Zobrist.WHITE_QUEENSIDE;
+        CASTLING_RIGHTS_KEPT[Bitboards.square(0, KING_HOME_COL)] &= ~(Zobrist.BLACK_KINGSIDE | Zobrist.BLACK_QUEENSIDE);
+        CASTLING_RIGHTS_KEPT[Bitboards.square(0, 7)] &= ~Zobrist.BLACK_KINGSIDE;
+        CASTLING_RIGHTS_KEPT[Bitboards.square(0, 0)] &= ~Zobrist.BLACK_QUEENSIDE;
+    }
+
     private Piece[][] board = new Piece[8][8];
-    private Move lastMove;
+    private final long[] pieceBitboards = new long[PlayerColour.values().length * Bitboards.PIECE_TYPES];
+    private final long[] colourBitboards = new long[PlayerColour.values().length];
+    private final int[] kingSquares = {Bitboards.NO_SQUARE, Bitboards.NO_SQUARE};
+    private int lastMove = PackedMove.NONE;
+    private PlayerColour sideToMove = PlayerColour.WHITE;
+
+    private long zobristKey;
+    private int castlingRights;
+    private int enPassantSquare = Bitboards.NO_SQUARE;
+    // The file folded into the key, only set when a pawn can actually make the capture
+    private int enPassantFile = -1;
+    private int halfmoveClock;
+    private int fullmoveNumber = 1;
+
+    private long[] undoStack = new long[INITIAL_UNDO_CAPACITY];
+    private Piece[] capturedStack = new Piece[INITIAL_UNDO_CAPACITY];
+    private int[] halfmoveClockStack = new int[INITIAL_UNDO_CAPACITY];
+    private int undoCount;
 
     private Board() {
     }
@@ -17,13 +60,37 @@ public class Board {
         board.setBackRow(7, PlayerColour.WHITE);
 
         for (int col = 0; col < 8; col++) {
-            board.board[1][col] = new Pawn(PlayerColour.BLACK);
-            board.board[6][col] = new Pawn(PlayerColour.WHITE);
+            board.put(1, col, Pieces.of(Piece.PieceType.PAWN, PlayerColour.BLACK));
+            board.put(6, col, Pieces.of(Piece.PieceType.PAWN, PlayerColour.WHITE));
         }
 
+        board.setCastlingRights(ALL_CASTLING_RIGHTS);
         return board;
     }
 
+    /**
+     * Returns an independent copy of the position. Pieces are immutable and shared, so only the
+     * arrays are copied. The copy starts with an empty undo history.
+     */
+    public Board copy() {
+        Board copy = new Board();
+        for (int row = 0; row < board.length; row++) {
+            copy.board[row] = board[row].clone();
+        }
+        System.arraycopy(pieceBitboards, 0, copy.pieceBitboards, 0, pieceBitboards.length);
+        System.arraycopy(colourBitboards, 0, copy.colourBitboards, 0, colourBitboards.length);
+        System.arraycopy(kingSquares, 0, copy.kingSquares, 0, kingSquares.length);
+        copy.lastMove = lastMove;
+        copy.sideToMove = sideToMove;
+        copy.zobristKey = zobristKey;
+        copy.castlingRights = castlingRights;
+        copy.enPassantSquare = enPassantSquare;
+        copy.enPassantFile = enPassantFile;
+        copy.halfmoveClock = halfmoveClock;
+        copy.fullmoveNumber = fullmoveNumber;
+        return copy;
+    }
+
     public static int getBackRowIndex(PlayerColour colour) {
         return colour == PlayerColour.WHITE ? 7 : 0;
     }
@@ -33,81 +100,384 @@ public class Board {
     }
 
     private void setBackRow(int rowIndex, PlayerColour colour) {
-        board[rowIndex][0] = new Rook(colour);
-        board[rowIndex][1] = new Knight(colour);
-        board[rowIndex][2] = new Bishop(colour);
-        board[rowIndex][3] = new Queen(colour);
-        board[rowIndex][4] = new King(colour);
-        board[rowIndex][5] = new Bishop(colour);
-        board[rowIndex][6] = new Knight(colour);
-        board[rowIndex][7] = new Rook(colour);
+        put(rowIndex, 0, Pieces.of(Piece.PieceType.ROOK, colour));
+        put(rowIndex, 1, Pieces.of(Piece.PieceType.KNIGHT, colour));
+        put(rowIndex, 2, Pieces.of(Piece.PieceType.BISHOP, colour));
+        put(rowIndex, 3, Pieces.of(Piece.PieceType.QUEEN, colour));
+        put(rowIndex, 4, Pieces.of(Piece.PieceType.KING, colour));
+        put(rowIndex, 5, Pieces.of(Piece.PieceType.BISHOP, colour));
+        put(rowIndex, 6, Pieces.of(Piece.PieceType.KNIGHT, colour));
+        put(rowIndex, 7, Pieces.of(Piece.PieceType.ROOK, colour));
     }
 
     public Piece get(Coordinates coords) {
         return board[coords.getRow()][coords.getCol()];
     }
 
+    public Piece get(int square) {
+        return board[Bitboards.row(square)][Bitboards.col(square)];
+    }
+
+    public long getBitboard(Piece.PieceType type, PlayerColour colour) {
+        return pieceBitboards[Bitboards.index(type, colour)];
+    }
+
+    public long getOccupied(PlayerColour colour) {
+        return colourBitboards[colour.ordinal()];
+    }
+
+    public long getOccupied() {
+        return colourBitboards[0] | colourBitboards[1];
+    }
+
+    /**
+     * Returns the square of the colour's king, or {@link Bitboards#NO_SQUARE} if it has none.
+     * The occupancy bitboards serve as the piece lists, so only the kings need tracking separately.
+     */
+    public int getKingSquare(PlayerColour colour) {
+        return kingSquares[colour.ordinal()];
+    }
+
     public Optional<Coordinates> findAny(Piece.PieceType pieceType, PlayerColour colour) {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Coordinates curr = new Coordinates(i, j);
-                Piece currPiece = get(curr);
-                if (currPiece != null && currPiece.getColour() == colour && currPiece.getType() == pieceType) {
-                    return Optional.of(curr);
-                }
-            }
+        long pieces = getBitboard(pieceType, colour);
+        if (pieces == 0) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        return Optional.of(Bitboards.toCoordinates(Long.numberOfTrailingZeros(pieces)));
+    }
+
+    public PlayerColour getSideToMove() {
+        return sideToMove;
+    }
+
+    public void setSideToMove(PlayerColour colour) {
+        zobristKey ^= Zobrist.sideToMove(sideToMove) ^ Zobrist.sideToMove(colour);
+        sideToMove = colour;
+    }
+
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    /**
+     * Sets the castling rights, as {@link Zobrist#WHITE_KINGSIDE} and friends. Rights whose king and rook
+     * are not on their home squares are dropped.
+     */
+    public void setCastlingRights(int rights) {
+        updateCastlingRights(rights & placementCastlingRights());
+    }
+
+    /**
+     * Returns the square passed over by a pawn that has just advanced two squares, or {@link Bitboards#NO_SQUARE}.
+     */
+    public int getEnPassantSquare() {
+        return enPassantSquare;
+    }
+
+    void setEnPassantSquare(int square) {
+        enPassantSquare = square;
+        updateEnPassantFile();
+    }
+
+    /**
+     * Returns the number of moves since the last capture or pawn move, for the fifty-move rule.
+     */
+    public int getHalfmoveClock() {
+        return halfmoveClock;
+    }
+
+    void setHalfmoveClock(int halfmoveClock) {
+        this.halfmoveClock = halfmoveClock;
+    }
+
+    /**
+     * Returns the number of the current full move, starting at 1 and increasing after each Black move.
+     */
+    public int getFullmoveNumber() {
+        return fullmoveNumber;
+    }
+
+    void setFullmoveNumber(int fullmoveNumber) {
+        this.fullmoveNumber = fullmoveNumber;
+    }
+
+    public static Board fromFen(String fen) {
+        return Fen.parse(fen);
+    }
+
+    public String toFen() {
+        return Fen.format(this);
     }
 
     public Move getLastMove() {
+        return lastMove == PackedMove.NONE ? null : PackedMove.toMove(lastMove);
+    }
+
+    public int getLastPackedMove() {
         return lastMove;
     }
 
     public void move(Coordinates from, Coordinates to) {
-        if (isCastleMove(from, to)) {
-            castle(from, to);
+        move(Move.of(from, to));
+    }
+
+    public void move(Move move) {
+        makeMove(PackedMove.fromMove(move, this));
+
+        // Moves made through the Move API are not undoable, so their undo record is dropped
+        undoCount--;
+        capturedStack[undoCount] = null;
+    }
+
+    public void makeMove(int move) {
+        if (undoCount == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoCount * 2);
+            capturedStack = Arrays.copyOf(capturedStack, undoCount * 2);
+            halfmoveClockStack = Arrays.copyOf(halfmoveClockStack, undoCount * 2);
+        }
+
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        Piece piece = get(from);
+        halfmoveClockStack[undoCount] = halfmoveClock;
+        undoStack[undoCount] = (move & UNDO_MOVE_MASK)
+                | ((lastMove & UNDO_MOVE_MASK) << UNDO_LAST_MOVE_SHIFT)
+                | ((long) castlingRights << UNDO_CASTLING_SHIFT)
+                | ((long) (enPassantSquare + 1) << UNDO_EN_PASSANT_SHIFT);
+
+        if (PackedMove.hasFlag(move, PackedMove.EN_PASSANT)) {
+            int capturedSquare = enPassantCaptureSquare(move);
+            capturedStack[undoCount] = get(capturedSquare);
+            put(capturedSquare, null);
         } else {
-            board[to.getRow()][to.getCol()] = board[from.getRow()][from.getCol()];
-            board[from.getRow()][from.getCol()] = null;
+            capturedStack[undoCount] = get(to);
+        }
+        halfmoveClock = piece.getType() == Piece.PieceType.PAWN || capturedStack[undoCount] != null ? 0 : halfmoveClock + 1;
+        if (sideToMove == PlayerColour.BLACK) {
+            fullmoveNumber++;
+        }
+        undoCount++;
+
+        Piece.PieceType promotion = PackedMove.getPromotion(move);
+        put(to, promotion == null ? piece : Pieces.of(promotion, piece.getColour()));
+        put(from, null);
+
+        if (PackedMove.hasFlag(move, PackedMove.CASTLE)) {
+            put(castleRookTo(move), get(castleRookFrom(move)));
+            put(castleRookFrom(move), null);
         }
 
-        lastMove = new Move(from, to);
-        get(to).setMoved();
+        updateCastlingRights(castlingRights & CASTLING_RIGHTS_KEPT[from] & CASTLING_RIGHTS_KEPT[to]);
+        enPassantSquare = PackedMove.hasFlag(move, PackedMove.DOUBLE_PAWN_PUSH) ? (from + to) / 2 : Bitboards.NO_SQUARE;
+        updateEnPassantFile();
+        lastMove = move;
+        setSideToMove(sideToMove.opponent());
     }
 
-    public boolean isSquareUnderThreat(Coordinates square, PlayerColour colour) {
-        for (int i = 0; i < 8; i++) {
-            for (int j = 0; j < 8; j++) {
-                Coordinates curr = new Coordinates(i, j);
-                Piece currPiece = get(curr);
-                if (currPiece != null && currPiece.getColour() != colour &&
-                        currPiece.getAllowedMoves(curr, this)
-                                .stream()
-                                .map(Move::getTo)
-                                .anyMatch(square::equals)) {
-                    return true;
-                }
-            }
+    public void unmakeMove() {
+        long record = undoStack[--undoCount];
+        int move = (int) (record & UNDO_MOVE_MASK);
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+
+        if (PackedMove.hasFlag(move, PackedMove.CASTLE)) {
+            put(castleRookFrom(move), get(castleRookTo(move)));
+            put(castleRookTo(move), null);
         }
-        return false;
+
+        Piece moved = get(to);
+        put(from, PackedMove.getPromotion(move) == null ? moved : Pieces.of(Piece.PieceType.PAWN, moved.getColour()));
+
+        Piece captured = capturedStack[undoCount];
+        capturedStack[undoCount] = null;
+        halfmoveClock = halfmoveClockStack[undoCount];
+        if (PackedMove.hasFlag(move, PackedMove.EN_PASSANT)) {
+            put(to, null);
+            put(enPassantCaptureSquare(move), captured);
+        } else {
+            put(to, captured);
+        }
+
+        updateCastlingRights((int) (record >>> UNDO_CASTLING_SHIFT) & ALL_CASTLING_RIGHTS);
+        enPassantSquare = (int) ((record >>> UNDO_EN_PASSANT_SHIFT) & 0x7F) - 1;
+        updateEnPassantFile();
+        lastMove = (int) ((record >>> UNDO_LAST_MOVE_SHIFT) & UNDO_MOVE_MASK);
+        setSideToMove(sideToMove.opponent());
+        if (sideToMove == PlayerColour.BLACK) {
+            fullmoveNumber--;
+        }
+    }
+
+    private void updateCastlingRights(int rights) {
+        zobristKey ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(rights);
+        castlingRights = rights;
     }
 
-    private boolean isCastleMove(Coordinates from, Coordinates to) {
-        return get(from).getType() == Piece.PieceType.KING && Math.abs(from.getCol() - to.getCol()) > 1;
+    private void updateEnPassantFile() {
+        int file = computeEnPassantFile();
+        zobristKey ^= Zobrist.enPassantFile(enPassantFile) ^ Zobrist.enPassantFile(file);
+        enPassantFile = file;
     }
 
-    private void castle(Coordinates from, Coordinates to) {
-        int direction = from.getCol() - to.getCol() > 0 ? -1 : 1;
-        int rookCol = direction > 0 ? 7 : 0;
-        move(new Coordinates(from.getRow(), rookCol), from.plus(0, direction));
+    /**
+     * The rights that the pieces on the board could support: each needs its king and rook on their home squares.
+     */
+    private int placementCastlingRights() {
+        return placementCastlingRights(PlayerColour.WHITE, Zobrist.WHITE_KINGSIDE, Zobrist.WHITE_QUEENSIDE)
+                | placementCastlingRights(PlayerColour.BLACK, Zobrist.BLACK_KINGSIDE, Zobrist.BLACK_QUEENSIDE);
+    }
+
+    private int placementCastlingRights(PlayerColour colour, int kingside, int queenside) {
+        int row = getBackRowIndex(colour);
+        if (!isPiece(board[row][KING_HOME_COL], Piece.PieceType.KING, colour)) {
+            return 0;
+        }
+        return (isPiece(board[row][7], Piece.PieceType.ROOK, colour) ? kingside : 0)
+                | (isPiece(board[row][0], Piece.PieceType.ROOK, colour) ? queenside : 0);
+    }
+
+    private static boolean isPiece(Piece piece, Piece.PieceType type, PlayerColour colour) {
+        return piece != null && piece.getType() == type && piece.getColour() == colour;
+    }
+
+    private int computeEnPassantFile() {
+        if (enPassantSquare == Bitboards.NO_SQUARE) {
+            return -1;
+        }
+        // White pawns advance up the board, so a pushed white pawn stands above the square it passed over
+        PlayerColour pushed = (getBitboard(Piece.PieceType.PAWN, PlayerColour.WHITE) & Bitboards.bit(enPassantSquare - 8)) != 0
+                ? PlayerColour.WHITE : PlayerColour.BLACK;
+        long capturers = Attacks.pawn(pushed, enPassantSquare) & getBitboard(Piece.PieceType.PAWN, pushed.opponent());
+        return capturers != 0 ? Bitboards.col(enPassantSquare) : -1;
+    }
+
+    long computeZobristKey() {
+        long key = Zobrist.sideToMove(sideToMove) ^ Zobrist.castling(castlingRights)
+                ^ Zobrist.enPassantFile(computeEnPassantFile());
+        for (long pieces = getOccupied(); pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            Piece piece = get(square);
+            key ^= Zobrist.piece(piece.getType(), piece.getColour(), square);
+        }
+        return key;
+    }
+
+    private static int enPassantCaptureSquare(int move) {
+        return Bitboards.square(Bitboards.row(PackedMove.getFrom(move)), Bitboards.col(PackedMove.getTo(move)));
+    }
+
+    private static int castleRookFrom(int move) {
+        int from = PackedMove.getFrom(move);
+        return PackedMove.getTo(move) > from ? from | 7 : from & ~7;
+    }
+
+    private static int castleRookTo(int move) {
+        int from = PackedMove.getFrom(move);
+        return PackedMove.getTo(move) > from ? from + 1 : from - 1;
+    }
+
+    public boolean isInCheck(PlayerColour colour) {
+        int king = getKingSquare(colour);
+        return king != Bitboards.NO_SQUARE && Attacks.isAttacked(this, king, colour.opponent());
+    }
+
+    public boolean leavesKingSafe(int move) {
+        PlayerColour colour = get(PackedMove.getFrom(move)).getColour();
+        makeMove(move);
+        boolean safe = !isInCheck(colour);
+        unmakeMove();
+        return safe;
+    }
+
+    public boolean isSquareUnderThreat(Coordinates square, PlayerColour colour) {
+        return isSquareUnderThreat(Bitboards.square(square), colour);
+    }
 
-        board[to.getRow()][to.getCol()] = board[from.getRow()][from.getCol()];
-        board[from.getRow()][from.getCol()] = null;
+    public boolean isSquareUnderThreat(int square, PlayerColour colour) {
+        return Attacks.isAttacked(this, square, colour.opponent());
     }
 
+    /**
+     * The material the mover gains from the exchange the move starts, as scored by {@link StaticExchange}.
+     */
+    public int staticExchange(int move) {
+        return StaticExchange.evaluate(this, move);
+    }
+
+    public int staticExchange(Move move) {
+        return StaticExchange.evaluate(this, PackedMove.fromMove(move, this));
+    }
+
+    /**
+     * How much the piece on the square would lose to the best exchange the other side can start there,
+     * or 0 if it is not hanging.
+     */
+    public int getThreatenedLoss(Coordinates square) {
+        return StaticExchange.threatenedLoss(this, Bitboards.square(square));
+    }
+
+    public void generateMoves(PlayerColour colour, MoveList moves) {
+        for (long pieces = getOccupied(colour); pieces != 0; pieces &= pieces - 1) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            get(from).generateMoves(from, this, moves);
+        }
+    }
+
+    /**
+     * Puts a piece on a square, outside of play. A king or rook placed on its home square gains the castling
+     * rights its partner allows, and rights whose king or rook has been replaced are lost.
+     */
     public void placePiece(Coordinates coords, Piece piece) {
-        board[coords.getRow()][coords.getCol()] = piece;
+        placePiece(Bitboards.square(coords), piece);
+    }
+
+    void placePiece(int square, Piece piece) {
+        put(square, piece);
+
+        int rights = castlingRights;
+        if (piece != null && (piece.getType() == Piece.PieceType.KING || piece.getType() == Piece.PieceType.ROOK)) {
+            rights |= ALL_CASTLING_RIGHTS & ~CASTLING_RIGHTS_KEPT[square];
+        }
+        setCastlingRights(rights);
+        updateEnPassantFile();
+    }
+
+    void put(int square, Piece piece) {
+        put(Bitboards.row(square), Bitboards.col(square), piece);
+    }
+
+    private void put(int row, int col, Piece piece) {
+        int square = Bitboards.square(row, col);
+        long bit = Bitboards.bit(square);
+
+        Piece previous = board[row][col];
+        if (previous != null) {
+            pieceBitboards[Bitboards.index(previous.getType(), previous.getColour())] &= ~bit;
+            colourBitboards[previous.getColour().ordinal()] &= ~bit;
+            zobristKey ^= Zobrist.piece(previous.getType(), previous.getColour(), square);
+            if (previous.getType() == Piece.PieceType.KING) {
+                updateKingSquare(previous.getColour());
+            }
+        }
+
+        board[row][col] = piece;
+        if (piece != null) {
+            pieceBitboards[Bitboards.index(piece.getType(), piece.getColour())] |= bit;
+            colourBitboards[piece.getColour().ordinal()] |= bit;
+            zobristKey ^= Zobrist.piece(piece.getType(), piece.getColour(), square);
+            if (piece.getType() == Piece.PieceType.KING) {
+                kingSquares[piece.getColour().ordinal()] = square;
+            }
+        }
+    }
+
+    private void updateKingSquare(PlayerColour colour) {
+        long kings = getBitboard(Piece.PieceType.KING, colour);
+        kingSquares[colour.ordinal()] = kings == 0 ? Bitboards.NO_SQUARE : Long.numberOfTrailingZeros(kings);
     }
 
     public boolean isEmptyOrCapturable(Coordinates coords, PlayerColour ownColour) {
@@ -115,28 +485,47 @@ public class Board {
     }
 
     public boolean isEmpty(Coordinates coords) {
-        return get(coords) == null;
+        return isEmpty(Bitboards.square(coords));
+    }
+
+    public boolean isEmpty(int square) {
+        return (getOccupied() & Bitboards.bit(square)) == 0;
     }
 
     public boolean isCapturable(Coordinates coords, PlayerColour ownColour) {
-        return !isEmpty(coords) && get(coords).getColour() != ownColour;
+        return isCapturable(Bitboards.square(coords), ownColour);
+    }
+
+    public boolean isCapturable(int square, PlayerColour ownColour) {
+        return (getOccupied(ownColour.opponent()) & Bitboards.bit(square)) != 0;
     }
 
     public boolean hasLastMove() {
-        return lastMove != null;
+        return lastMove != PackedMove.NONE;
     }
 
     public boolean hasNoMoves(PlayerColour colour) {
-        int numMoves = 0;
-        for(int i = 0; i<8; i++) {
-            for(int j = 0; j<8;j++){
-                Coordinates curr = new Coordinates(i, j);
-                Piece currPiece = get(curr);
-                if (currPiece != null && currPiece.getColour() == colour) {
-                    numMoves += currPiece.getAllowedMoves(curr, this).size();
-                }
+        return !LegalMoveGenerator.hasLegalMove(this, colour);
+    }
+
+    /**
+     * True when neither side could ever checkmate: kings with at most one knight or bishop between them,
+     * or with any number of bishops that all stand on squares of the same colour.
+     */
+    public boolean hasInsufficientMaterial() {
+        long minors = 0;
+        long knights = 0;
+        for (PlayerColour colour : PlayerColour.values()) {
+            if ((getBitboard(Piece.PieceType.PAWN, colour) | getBitboard(Piece.PieceType.ROOK, colour)
+                    | getBitboard(Piece.PieceType.QUEEN, colour)) != 0) {
+                return false;
             }
+            knights |= getBitboard(Piece.PieceType.KNIGHT, colour);
+            minors |= getBitboard(Piece.PieceType.KNIGHT, colour) | getBitboard(Piece.PieceType.BISHOP, colour);
+        }
+        if (Long.bitCount(minors) <= 1) {
+            return true;
         }
-        return numMoves == 0;
+        return knights == 0 && ((minors & Bitboards.LIGHT_SQUARES) == 0 || (minors & ~Bitboards.LIGHT_SQUARES) == 0);
     }
 }
@@ -1,26 +1,50 @@
 package training.chessington.model;
 
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * An immutable row and column. {@link #of} returns shared instances for every square on the board
+ * and for a margin around it wide enough for any single piece step, so stepping off the edge does not allocate either.
+ */
 public final class Coordinates {
+    private static final int MARGIN = 2;
+    private static final int CACHE_SIZE = 8 + 2 * MARGIN;
+    private static final Coordinates[] CACHE = new Coordinates[CACHE_SIZE * CACHE_SIZE];
+
     private final int row;
     private final int col;
     public static List<Coordinates> axialDirections;
     public static List<Coordinates> diagonalDirections;
 
     static {
+        for (int row = -MARGIN; row < 8 + MARGIN; row++) {
+            for (int col = -MARGIN; col < 8 + MARGIN; col++) {
+                CACHE[cacheIndex(row, col)] = new Coordinates(row, col);
+            }
+        }
+
         axialDirections = Stream.of(new int[][]{{0, 1}, {0, -1}, {1, 0}, {-1, 0}})
-                .map(dir -> new Coordinates(dir[0], dir[1]))
+                .map(dir -> of(dir[0], dir[1]))
                 .collect(Collectors.toList());
 
         diagonalDirections = Stream.of(new int[][]{{1, 1}, {1, -1}, {-1, 1}, {-1, -1}})
-                .map(dir -> new Coordinates(dir[0], dir[1]))
+                .map(dir -> of(dir[0], dir[1]))
                 .collect(Collectors.toList());
     }
 
+    public static Coordinates of(int row, int col) {
+        if (-MARGIN <= row && row < 8 + MARGIN && -MARGIN <= col && col < 8 + MARGIN) {
+            return CACHE[cacheIndex(row, col)];
+        }
+        return new Coordinates(row, col);
+    }
+
+    private static int cacheIndex(int row, int col) {
+        return (row + MARGIN) * CACHE_SIZE + col + MARGIN;
+    }
+
     public static int manhattanDistanceBetween(Coordinates a, Coordinates b) {
         int rowDist = Math.abs(a.getRow() - b.getRow());
         int colDist =  Math.abs(a.getCol() - b.getCol());
@@ -51,7 +75,7 @@ public final class Coordinates {
 
     @Override
     public int hashCode() {
-        return Objects.hash(row, col);
+        return row * 31 + col;
     }
 
     @Override
@@ -60,11 +84,11 @@ public final class Coordinates {
     }
 
     public Coordinates plus(int rowDiff, int colDiff) {
-        return new Coordinates(row + rowDiff, col + colDiff);
+        return of(row + rowDiff, col + colDiff);
     }
 
     public Coordinates plus(Coordinates toAdd) {
-        return new Coordinates(row + toAdd.getRow(), col + toAdd.getCol());
+        return of(row + toAdd.getRow(), col + toAdd.getCol());
     }
 
     public boolean isOnBoard() {
@@ -0,0 +1,246 @@
+package training.chessington.model;
+
+import training.chessington.model.pieces.Piece;
+import training.chessington.model.pieces.Pieces;
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation. The parser walks the string once without
+ * splitting it, and the halfmove clock and fullmove number may be left off, as many tools do.
+ */
+public final class Fen {
+    public static final String STARTING_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECE_LETTERS = "pnbrqk";
+    // The eighth rank is row 0 and the first rank is row 7
+    private static final long FIRST_AND_EIGHTH_RANKS = 0xFF000000000000FFL;
+
+    private Fen() {
+    }
+
+    public static Board parse(String fen) {
+        Board board = Board.empty();
+        int length = fen.length();
+        int i = skipSpaces(fen, 0);
+
+        int row = 0;
+        int col = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            char c = fen.charAt(i);
+            if (c == '/') {
+                if (col != 8 || ++row > 7) {
+                    throw invalid(fen, "wrong number of squares in a rank");
+                }
+                col = 0;
+            } else if ('1' <= c && c <= '8') {
+                col += c - '0';
+            } else {
+                Piece piece = piece(c);
+                if (piece == null) {
+                    throw invalid(fen, "unknown piece '" + c + "'");
+                }
+                if (col > 7) {
+                    throw invalid(fen, "wrong number of squares in a rank");
+                }
+                board.put(Bitboards.square(row, col++), piece);
+            }
+            if (col > 8) {
+                throw invalid(fen, "wrong number of squares in a rank");
+            }
+        }
+        if (row != 7 || col != 8) {
+            throw invalid(fen, "the board must have eight ranks of eight squares");
+        }
+        for (PlayerColour colour : PlayerColour.values()) {
+            if (Long.bitCount(board.getBitboard(Piece.PieceType.KING, colour)) != 1) {
+                throw invalid(fen, "each side must have exactly one king");
+            }
+            if ((board.getBitboard(Piece.PieceType.PAWN, colour) & FIRST_AND_EIGHTH_RANKS) != 0) {
+                throw invalid(fen, "pawns cannot stand on the first or eighth rank");
+            }
+        }
+
+        i = skipSpaces(fen, i);
+        if (i >= length || (fen.charAt(i) != 'w' && fen.charAt(i) != 'b')) {
+            throw invalid(fen, "side to move must be w or b");
+        }
+        board.setSideToMove(fen.charAt(i++) == 'w' ? PlayerColour.WHITE : PlayerColour.BLACK);
+        PlayerColour waiting = board.getSideToMove().opponent();
+        int waitingKing = Long.numberOfTrailingZeros(board.getBitboard(Piece.PieceType.KING, waiting));
+        if (Attacks.isAttacked(board, waitingKing, board.getSideToMove())) {
+            throw invalid(fen, "the side not to move cannot be in check");
+        }
+
+        i = skipSpaces(fen, i);
+        int castlingRights = 0;
+        if (i < length && fen.charAt(i) == '-') {
+            i++;
+        } else {
+            for (; i < length && fen.charAt(i) != ' '; i++) {
+                castlingRights |= castlingRight(fen, fen.charAt(i));
+            }
+        }
+        board.setCastlingRights(castlingRights);
+
+        i = skipSpaces(fen, i);
+        if (i < length && fen.charAt(i) == '-') {
+            i++;
+        } else if (i + 1 < length) {
+            int file = fen.charAt(i) - 'a';
+            int rank = fen.charAt(i + 1) - '1';
+            if (file < 0 || file > 7 || (rank != 2 && rank != 5)) {
+                throw invalid(fen, "en passant square must be on the third or sixth rank");
+            }
+            int square = Bitboards.square(7 - rank, file);
+            if (!couldHaveJustDoublePushed(board, square)) {
+                throw invalid(fen, "no pawn can have just moved two squares past the en passant square");
+            }
+            board.setEnPassantSquare(square);
+            i += 2;
+        } else {
+            throw invalid(fen, "missing en passant square");
+        }
+
+        i = skipSpaces(fen, i);
+        if (i < length) {
+            int end = endOfNumber(fen, i);
+            board.setHalfmoveClock(parseNumber(fen, i, end));
+            i = skipSpaces(fen, end);
+            if (i < length) {
+                end = endOfNumber(fen, i);
+                board.setFullmoveNumber(parseNumber(fen, i, end));
+                i = skipSpaces(fen, end);
+            }
+        }
+        if (i < length) {
+            throw invalid(fen, "unexpected text after the move counters");
+        }
+
+        return board;
+    }
+
+    /**
+     * Whether the side that just moved could have pushed a pawn two squares past this square: its pawn must stand
+     * in front of it, and the square and the one the pawn started on must be empty.
+     */
+    private static boolean couldHaveJustDoublePushed(Board board, int square) {
+        PlayerColour mover = board.getSideToMove().opponent();
+        int direction = mover == PlayerColour.WHITE ? -1 : 1;
+        int row = Bitboards.row(square);
+        if (row != (mover == PlayerColour.WHITE ? 5 : 2)) {
+            return false;
+        }
+        int col = Bitboards.col(square);
+        Piece pawn = board.get(Bitboards.square(row + direction, col));
+        return pawn != null && pawn.getType() == Piece.PieceType.PAWN && pawn.getColour() == mover
+                && board.get(square) == null && board.get(Bitboards.square(row - direction, col)) == null;
+    }
+
+    public static String format(Board board) {
+        StringBuilder fen = new StringBuilder(90);
+        for (int row = 0; row < 8; row++) {
+            int empty = 0;
+            for (int col = 0; col < 8; col++) {
+                Piece piece = board.get(Bitboards.square(row, col));
+                if (piece == null) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    fen.append(empty);
+                    empty = 0;
+                }
+                fen.append(letter(piece));
+            }
+            if (empty > 0) {
+                fen.append(empty);
+            }
+            if (row < 7) {
+                fen.append('/');
+            }
+        }
+
+        fen.append(board.getSideToMove() == PlayerColour.WHITE ? " w " : " b ");
+
+        int rights = board.getCastlingRights();
+        if (rights == 0) {
+            fen.append('-');
+        } else {
+            appendIf(fen, rights, Zobrist.WHITE_KINGSIDE, 'K');
+            appendIf(fen, rights, Zobrist.WHITE_QUEENSIDE, 'Q');
+            appendIf(fen, rights, Zobrist.BLACK_KINGSIDE, 'k');
+            appendIf(fen, rights, Zobrist.BLACK_QUEENSIDE, 'q');
+        }
+
+        fen.append(' ');
+        int enPassantSquare = board.getEnPassantSquare();
+        fen.append(enPassantSquare == Bitboards.NO_SQUARE ? "-" : Bitboards.toAlgebraic(enPassantSquare));
+
+        fen.append(' ').append(board.getHalfmoveClock()).append(' ').append(board.getFullmoveNumber());
+        return fen.toString();
+    }
+
+    private static Piece piece(char c) {
+        int type = PIECE_LETTERS.indexOf(Character.toLowerCase(c));
+        if (type < 0) {
+            return null;
+        }
+        PlayerColour colour = Character.isUpperCase(c) ? PlayerColour.WHITE : PlayerColour.BLACK;
+        return Pieces.of(Piece.PieceType.values()[type], colour);
+    }
+
+    private static char letter(Piece piece) {
+        char letter = PIECE_LETTERS.charAt(piece.getType().ordinal());
+        return piece.getColour() == PlayerColour.WHITE ? Character.toUpperCase(letter) : letter;
+    }
+
+    private static int castlingRight(String fen, char c) {
+        switch (c) {
+            case 'K':
+                return Zobrist.WHITE_KINGSIDE;
+            case 'Q':
+                return Zobrist.WHITE_QUEENSIDE;
+            case 'k':
+                return Zobrist.BLACK_KINGSIDE;
+            case 'q':
+                return Zobrist.BLACK_QUEENSIDE;
+            default:
+                throw invalid(fen, "unknown castling right '" + c + "'");
+        }
+    }
+
+    private static void appendIf(StringBuilder fen, int rights, int right, char letter) {
+        if ((rights & right) != 0) {
+            fen.append(letter);
+        }
+    }
+
+    private static int skipSpaces(String fen, int i) {
+        while (i < fen.length() && fen.charAt(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int endOfNumber(String fen, int i) {
+        while (i < fen.length() && fen.charAt(i) != ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int parseNumber(String fen, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = fen.charAt(i);
+            if (c < '0' || c > '9' || value > 100_000) {
+                throw invalid(fen, "move counters must be non-negative numbers");
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static IllegalArgumentException invalid(String fen, String reason) {
+        return new IllegalArgumentException("Invalid FEN '" + fen + "': " + reason);
+    }
+}
@@ -2,68 +2,64 @@ package training.chessington.model;
 
 import training.chessington.model.pieces.*;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class Game {
     public static final int SIZE = 8;
     private final Board board;
+    private final PositionHistory history = new PositionHistory();
+    private final LegalMoveCache legalMoves = new LegalMoveCache();
 
-    private PlayerColour nextPlayer = PlayerColour.WHITE;
-
-    private boolean isEnded = false;
+    private GameResult result;
+    private PlayerColour winner;
 
     public Game(Board board) {
         this.board = board;
+        history.push(board.getZobristKey(), true);
+        // Asks only whether a move exists, so a new game generates its moves when they are first wanted
+        updateResult(1, board.hasNoMoves(board.getSideToMove()));
     }
 
-    public Piece pieceAt(int row, int col) {
-        return board.get(new Coordinates(row, col));
+    public static Game fromFen(String fen) {
+        return new Game(Board.fromFen(fen));
     }
 
-    public List<Move> getAllowedMoves(Coordinates from) {
-        if (isEnded) {
-            return new ArrayList<>();
-        }
-
-        Piece piece = board.get(from);
-        if (piece == null || piece.getColour() != nextPlayer) {
-            return new ArrayList<>();
-        }
-
-        List<Move> allowedMoves = piece.getAllowedMoves(from, board);
-
-        allowedMoves = allowedMoves.stream()
-                .filter(this::noOwnCheckAfterMove)
-                .collect(Collectors.toList());
-
-        return allowedMoves;
+    public String toFen() {
+        return board.toFen();
     }
 
-    private boolean isUnderCheck(PlayerColour colour) {
-        return board.findAny(Piece.PieceType.KING, colour)
-                .map(coords -> board.isSquareUnderThreat(coords, colour))
-                .orElse(false);
+    public Board getBoard() {
+        return board;
     }
 
-    private boolean noOwnCheckAfterMove(Move move) {
-        Piece origToPiece = board.get(move.getTo());
-        Piece origFromPiece = board.get(move.getFrom());
-
-        board.placePiece(move.getTo(), origFromPiece);
-        board.placePiece(move.getFrom(), null);
-
-        boolean stopsCheck = !isUnderCheck(nextPlayer);
+    /**
+     * The Zobrist keys of the positions before the current one, back to the last pawn move or capture, oldest
+     * first. Only these positions can recur, so they are what a search needs to see repetitions.
+     */
+    public long[] getEarlierPositionKeys() {
+        long[] keys = history.getKeys();
+        return Arrays.copyOf(keys, keys.length - 1);
+    }
 
-        board.placePiece(move.getTo(), origToPiece);
-        board.placePiece(move.getFrom(), origFromPiece);
+    public Piece pieceAt(int row, int col) {
+        return board.get(Coordinates.of(row, col));
+    }
 
-        return stopsCheck;
+    /**
+     * The legal moves of the piece on the square, as an unmodifiable list. All of a position's moves are generated
+     * together the first time any square is asked about, and kept for the most recent positions.
+     */
+    public List<Move> getAllowedMoves(Coordinates from) {
+        if (isEnded()) {
+            return Collections.emptyList();
+        }
+        return legalMoves.get(board).from(Bitboards.square(from));
     }
 
     public void makeMove(Move move) throws InvalidMoveException {
-        if (isEnded) {
+        if (isEnded()) {
             throw new InvalidMoveException("Game has ended!");
         }
 
@@ -75,27 +71,76 @@ public class Game {
             throw new InvalidMoveException(String.format("No piece at %s", from));
         }
 
-        if (piece.getColour() != nextPlayer) {
-            throw new InvalidMoveException(String.format("Wrong colour piece - it is %s's turn", nextPlayer));
+        if (piece.getColour() != board.getSideToMove()) {
+            throw new InvalidMoveException(String.format("Wrong colour piece - it is %s's turn", board.getSideToMove()));
         }
 
-        if (!piece.getAllowedMoves(move.getFrom(), board).contains(move)) {
+        if (!getAllowedMoves(from).contains(move)) {
             throw new InvalidMoveException(String.format("Cannot move piece %s from %s to %s", piece, from, to));
         }
 
-        board.move(from, to);
-        nextPlayer = nextPlayer == PlayerColour.WHITE ? PlayerColour.BLACK : PlayerColour.WHITE;
+        board.move(move);
 
-        if(isUnderCheck(nextPlayer)) {
-            isEnded = board.hasNoMoves(nextPlayer);
-        }
+        updateResult(history.push(board.getZobristKey(), board.getHalfmoveClock() == 0), legalMoves.get(board).isEmpty());
     }
 
     public boolean isEnded() {
-        return isEnded;
+        return result != null;
+    }
+
+    /**
+     * How the game ended, or null while it is still in progress.
+     */
+    public GameResult getResult() {
+        return result;
     }
 
-    public String getResult() {
+    /**
+     * The player who gave checkmate, or null if the game is drawn or still in progress.
+     */
+    public PlayerColour getWinner() {
+        return winner;
+    }
+
+    /**
+     * The draw the player to move may claim in the current position, or null if there is none.
+     */
+    public GameResult getClaimableDraw() {
+        if (isEnded()) {
+            return null;
+        }
+        if (history.count(board.getZobristKey()) >= 3) {
+            return GameResult.THREEFOLD_REPETITION;
+        }
+        if (board.getHalfmoveClock() >= 100) {
+            return GameResult.FIFTY_MOVE_RULE;
+        }
         return null;
     }
+
+    public void claimDraw() throws InvalidMoveException {
+        GameResult draw = getClaimableDraw();
+        if (draw == null) {
+            throw new InvalidMoveException("No draw can be claimed in this position");
+        }
+        result = draw;
+    }
+
+    private void updateResult(int repetitions, boolean noMoves) {
+        PlayerColour sideToMove = board.getSideToMove();
+        if (noMoves) {
+            if (board.isInCheck(sideToMove)) {
+                result = GameResult.CHECKMATE;
+                winner = sideToMove.opponent();
+            } else {
+                result = GameResult.STALEMATE;
+            }
+        } else if (board.hasInsufficientMaterial()) {
+            result = GameResult.INSUFFICIENT_MATERIAL;
+        } else if (repetitions >= 5) {
+            result = GameResult.FIVEFOLD_REPETITION;
+        } else if (board.getHalfmoveClock() >= 150) {
+            result = GameResult.SEVENTY_FIVE_MOVE_RULE;
+        }
+    }
 }
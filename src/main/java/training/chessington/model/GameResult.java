@@ -0,0 +1,29 @@
+package training.chessington.model;
+
+/**
+ * How a game ended. Threefold repetition and the fifty-move rule only end a game when a player claims the draw;
+ * the others end it as soon as they arise.
+ */
+public enum GameResult {
+    CHECKMATE("Checkmate"),
+    STALEMATE("Stalemate"),
+    THREEFOLD_REPETITION("Draw by threefold repetition"),
+    FIVEFOLD_REPETITION("Draw by fivefold repetition"),
+    FIFTY_MOVE_RULE("Draw by the fifty-move rule"),
+    SEVENTY_FIVE_MOVE_RULE("Draw by the seventy-five-move rule"),
+    INSUFFICIENT_MATERIAL("Draw by insufficient material");
+
+    private final String description;
+
+    GameResult(String description) {
+        this.description = description;
+    }
+
+    public boolean isDraw() {
+        return this != CHECKMATE;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,66 @@
+package training.chessington.model;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the {@link LegalMoves} of the most recently used positions, keyed by Zobrist key, so asking again about a
+ * position, or reaching it again by transposition, does not generate its moves again. The least recently used
+ * position is dropped once the cache is full. The cache is small, so entries live in plain arrays and are found by
+ * scanning the keys, which keeps lookups free of allocation.
+ */
+public class LegalMoveCache {
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final long[] keys;
+    private final LegalMoves[] values;
+    private final long[] lastUsed;
+    private long clock;
+
+    public LegalMoveCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LegalMoveCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1, was " + capacity);
+        }
+        this.keys = new long[capacity];
+        this.values = new LegalMoves[capacity];
+        this.lastUsed = new long[capacity];
+    }
+
+    public LegalMoves get(Board board) {
+        long key = board.getZobristKey();
+        int oldest = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null && keys[i] == key) {
+                lastUsed[i] = ++clock;
+                return values[i];
+            }
+            if (lastUsed[i] < lastUsed[oldest]) {
+                oldest = i;
+            }
+        }
+
+        LegalMoves moves = LegalMoves.generate(board);
+        keys[oldest] = key;
+        values[oldest] = moves;
+        lastUsed[oldest] = ++clock;
+        return moves;
+    }
+
+    public int size() {
+        int size = 0;
+        for (LegalMoves value : values) {
+            if (value != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        Arrays.fill(lastUsed, 0);
+    }
+}
@@ -0,0 +1,106 @@
+package training.chessington.model;
+
+import training.chessington.model.pieces.Piece;
+
+/**
+ * Generates only legal moves, without playing any of them out on the board.
+ * The pieces giving check and the pieces pinned to their king are found once per position:
+ * in double check only the king may move, in single check other moves must capture the checker
+ * or block its ray, and a pinned piece may only move along the line between its king and the pinner.
+ * King moves are checked against attacks with the king lifted off the board, so it cannot step
+ * back along a slider's ray, and en passant is checked directly since it removes two pieces from a rank.
+ */
+public final class LegalMoveGenerator {
+    private LegalMoveGenerator() {
+    }
+
+    public static void generateMoves(Board board, PlayerColour colour, MoveList moves) {
+        int start = moves.size();
+        board.generateMoves(colour, moves);
+        filter(board, colour, moves, start);
+    }
+
+    public static void generateMoves(Board board, int from, MoveList moves) {
+        Piece piece = board.get(from);
+        if (piece == null) {
+            return;
+        }
+        int start = moves.size();
+        piece.generateMoves(from, board, moves);
+        filter(board, piece.getColour(), moves, start);
+    }
+
+    public static boolean hasLegalMove(Board board, PlayerColour colour) {
+        MoveList moves = new MoveList();
+        generateMoves(board, colour, moves);
+        return !moves.isEmpty();
+    }
+
+    private static void filter(Board board, PlayerColour colour, MoveList moves, int start) {
+        int king = board.getKingSquare(colour);
+        if (king == Bitboards.NO_SQUARE) {
+            return;
+        }
+
+        PlayerColour enemy = colour.opponent();
+        long occupied = board.getOccupied();
+        long checkers = Attacks.attackers(board, king, enemy, occupied);
+
+        long checkMask = -1L;
+        if (Long.bitCount(checkers) == 1) {
+            int checker = Long.numberOfTrailingZeros(checkers);
+            checkMask = checkers | Attacks.between(king, checker);
+        } else if (checkers != 0) {
+            checkMask = 0;
+        }
+
+        long pinned = 0;
+        long[] pinRays = null;
+        long snipers = (MagicBitboards.rookAttacks(king, 0) & Attacks.straightSliders(board, enemy))
+                | (MagicBitboards.bishopAttacks(king, 0) & Attacks.diagonalSliders(board, enemy));
+        for (; snipers != 0; snipers &= snipers - 1) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            long ray = Attacks.between(king, sniper);
+            long blockers = ray & occupied;
+            if (Long.bitCount(blockers) == 1 && (blockers & board.getOccupied(colour)) != 0) {
+                if (pinRays == null) {
+                    pinRays = new long[Bitboards.SQUARES];
+                }
+                pinned |= blockers;
+                pinRays[Long.numberOfTrailingZeros(blockers)] = ray | Bitboards.bit(sniper);
+            }
+        }
+
+        int kept = start;
+        for (int i = start; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (isLegal(board, move, colour, king, occupied, checkMask, pinned, pinRays)) {
+                moves.set(kept++, move);
+            }
+        }
+        moves.truncate(kept);
+    }
+
+    private static boolean isLegal(Board board, int move, PlayerColour colour, int king, long occupied,
+                                   long checkMask, long pinned, long[] pinRays) {
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+
+        if (from == king) {
+            // Castling checks its own path, and it is never generated while in check
+            return PackedMove.hasFlag(move, PackedMove.CASTLE)
+                    || Attacks.attackers(board, to, colour.opponent(), occupied & ~Bitboards.bit(from)) == 0;
+        }
+
+        if (PackedMove.hasFlag(move, PackedMove.EN_PASSANT)) {
+            long captured = Bitboards.bit(Bitboards.square(Bitboards.row(from), Bitboards.col(to)));
+            long after = (occupied & ~Bitboards.bit(from) & ~captured) | Bitboards.bit(to);
+            return (Attacks.attackers(board, king, colour.opponent(), after) & ~captured) == 0;
+        }
+
+        if ((checkMask & Bitboards.bit(to)) == 0) {
+            return false;
+        }
+        return (pinned & Bitboards.bit(from)) == 0 || (pinRays[from] & Bitboards.bit(to)) != 0;
+    }
+}
@@ -0,0 +1,64 @@
+package training.chessington.model;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Every legal move in one position, grouped by the square it starts from. The moves are generated once, and each
+ * square's list of {@link Move}s is only built the first time it is asked for.
+ */
+public final class LegalMoves {
+    private final int[] moves;
+    private final int[] starts = new int[Bitboards.SQUARES + 1];
+    private final List<?>[] bySquare = new List<?>[Bitboards.SQUARES];
+
+    private LegalMoves(MoveList generated) {
+        int count = generated.size();
+        for (int i = 0; i < count; i++) {
+            starts[PackedMove.getFrom(generated.get(i)) + 1]++;
+        }
+        for (int square = 0; square < Bitboards.SQUARES; square++) {
+            starts[square + 1] += starts[square];
+        }
+        int[] next = starts.clone();
+        moves = new int[count];
+        for (int i = 0; i < count; i++) {
+            int move = generated.get(i);
+            moves[next[PackedMove.getFrom(move)]++] = move;
+        }
+    }
+
+    public static LegalMoves generate(Board board) {
+        MoveList generated = new MoveList();
+        LegalMoveGenerator.generateMoves(board, board.getSideToMove(), generated);
+        return new LegalMoves(generated);
+    }
+
+    /**
+     * The moves of the piece on the square, as an unmodifiable list that is empty if it has none.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Move> from(int square) {
+        List<Move> result = (List<Move>) bySquare[square];
+        if (result == null) {
+            Move[] squareMoves = new Move[starts[square + 1] - starts[square]];
+            for (int i = 0; i < squareMoves.length; i++) {
+                squareMoves[i] = PackedMove.toMove(moves[starts[square] + i]);
+            }
+            result = squareMoves.length == 0
+                    ? Collections.emptyList()
+                    : Collections.unmodifiableList(Arrays.asList(squareMoves));
+            bySquare[square] = result;
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return moves.length == 0;
+    }
+
+    public int size() {
+        return moves.length;
+    }
+}
@@ -1,14 +1,73 @@
 package training.chessington.model;
 
+import training.chessington.model.pieces.Piece;
+
 import java.util.Objects;
 
+/**
+ * A move from one square to another, naming the piece a pawn promotes to when it reaches the last rank.
+ * {@link #of} returns a shared instance for every pair of on-board squares and every promotion a pawn can make.
+ */
 public final class Move {
+    private static final Move[] CACHE = new Move[Bitboards.SQUARES * Bitboards.SQUARES];
+    private static final Move[] PROMOTION_CACHE = new Move[Bitboards.SQUARES * Bitboards.SQUARES * Bitboards.PIECE_TYPES];
+
+    static {
+        for (int from = 0; from < Bitboards.SQUARES; from++) {
+            for (int to = 0; to < Bitboards.SQUARES; to++) {
+                CACHE[from * Bitboards.SQUARES + to] = new Move(Bitboards.toCoordinates(from), Bitboards.toCoordinates(to));
+            }
+        }
+        for (int from = 0; from < Bitboards.SQUARES; from++) {
+            int row = Bitboards.row(from);
+            if (row != 1 && row != 6) {
+                continue;
+            }
+            int toRow = row == 1 ? 0 : 7;
+            for (int col = Bitboards.col(from) - 1; col <= Bitboards.col(from) + 1; col++) {
+                if (col < 0 || col >= 8) {
+                    continue;
+                }
+                int to = Bitboards.square(toRow, col);
+                for (Piece.PieceType type : Piece.PieceType.values()) {
+                    PROMOTION_CACHE[promotionIndex(from, to, type)] =
+                            new Move(Bitboards.toCoordinates(from), Bitboards.toCoordinates(to), type);
+                }
+            }
+        }
+    }
+
     private final Coordinates from;
     private final Coordinates to;
+    private final Piece.PieceType promotion;
 
     public Move(Coordinates from, Coordinates to) {
+        this(from, to, null);
+    }
+
+    public Move(Coordinates from, Coordinates to, Piece.PieceType promotion) {
         this.from = from;
         this.to = to;
+        this.promotion = promotion;
+    }
+
+    public static Move of(int from, int to) {
+        return CACHE[from * Bitboards.SQUARES + to];
+    }
+
+    public static Move of(int from, int to, Piece.PieceType promotion) {
+        if (promotion == null) {
+            return of(from, to);
+        }
+        Move move = PROMOTION_CACHE[promotionIndex(from, to, promotion)];
+        return move != null ? move : new Move(Bitboards.toCoordinates(from), Bitboards.toCoordinates(to), promotion);
+    }
+
+    public static Move of(Coordinates from, Coordinates to) {
+        if (from.isOnBoard() && to.isOnBoard()) {
+            return of(Bitboards.square(from), Bitboards.square(to));
+        }
+        return new Move(from, to);
     }
 
     public Coordinates getFrom() {
@@ -19,22 +78,41 @@ public final class Move {
         return to;
     }
 
+    /**
+     * The piece type a pawn becomes, or null if the move is not a promotion.
+     */
+    public Piece.PieceType getPromotion() {
+        return promotion;
+    }
+
+    public Move withPromotion(Piece.PieceType type) {
+        if (from.isOnBoard() && to.isOnBoard()) {
+            return of(Bitboards.square(from), Bitboards.square(to), type);
+        }
+        return new Move(from, to, type);
+    }
+
+    private static int promotionIndex(int from, int to, Piece.PieceType type) {
+        return (from * Bitboards.SQUARES + to) * Bitboards.PIECE_TYPES + type.ordinal();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Move move = (Move) o;
         return Objects.equals(from, move.from) &&
-                Objects.equals(to, move.to);
+                Objects.equals(to, move.to) &&
+                promotion == move.promotion;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(from, to);
+        return (Objects.hashCode(from) * 31 + Objects.hashCode(to)) * 31 + Objects.hashCode(promotion);
     }
 
     @Override
     public String toString() {
-        return "from " + from + " to " + to;
+        return promotion == null ? "from " + from + " to " + to : "from " + from + " to " + to + " promoting to " + promotion;
     }
 }
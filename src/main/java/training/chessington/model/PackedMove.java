@@ -0,0 +1,139 @@
+package training.chessington.model;
+
+import training.chessington.model.pieces.Piece;
+
+/**
+ * Encodes a move as a single int so move generation does not allocate.
+ * Bits 0-5 hold the from square, bits 6-11 the to square (see {@link Bitboards}),
+ * bits 12-14 the promotion piece type (zero for none) and the bits above that the move flags.
+ * Zero is never a real move, so {@link #NONE} can mark an empty slot.
+ */
+public final class PackedMove {
+    public static final int NONE = 0;
+
+    public static final int CAPTURE = 1 << 15;
+    public static final int DOUBLE_PAWN_PUSH = 1 << 16;
+    public static final int EN_PASSANT = 1 << 17;
+    public static final int CASTLE = 1 << 18;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int TO_SHIFT = 6;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int PROMOTION_MASK = 0x7;
+    private static final Piece.PieceType[] PIECE_TYPES = Piece.PieceType.values();
+    private static final String PROMOTION_LETTERS = "pnbrqk";
+
+    private PackedMove() {
+    }
+
+    public static int of(int from, int to) {
+        return from | (to << TO_SHIFT);
+    }
+
+    public static int of(int from, int to, int flags) {
+        return from | (to << TO_SHIFT) | flags;
+    }
+
+    public static int getFrom(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int getTo(int move) {
+        return (move >>> TO_SHIFT) & SQUARE_MASK;
+    }
+
+    public static boolean hasFlag(int move, int flag) {
+        return (move & flag) != 0;
+    }
+
+    public static boolean isCapture(int move) {
+        return (move & (CAPTURE | EN_PASSANT)) != 0;
+    }
+
+    public static int withPromotion(int move, Piece.PieceType type) {
+        return (move & ~(PROMOTION_MASK << PROMOTION_SHIFT)) | (type.ordinal() << PROMOTION_SHIFT);
+    }
+
+    public static Piece.PieceType getPromotion(int move) {
+        int promotion = (move >>> PROMOTION_SHIFT) & PROMOTION_MASK;
+        return promotion == 0 ? null : PIECE_TYPES[promotion];
+    }
+
+    /**
+     * En passant captures are shown to the {@link Move} API as a move onto the captured pawn,
+     * which is the square a player clicks on, while the packed form targets the square passed over.
+     */
+    public static Move toMove(int move) {
+        int from = getFrom(move);
+        int to = getTo(move);
+        int target = hasFlag(move, EN_PASSANT) ? Bitboards.square(Bitboards.row(from), Bitboards.col(to)) : to;
+        return Move.of(from, target, getPromotion(move));
+    }
+
+    public static int fromMove(Move move, Board board) {
+        int packed = fromMoveIgnoringPromotion(move, board);
+        return move.getPromotion() == null ? packed : withPromotion(packed, move.getPromotion());
+    }
+
+    private static int fromMoveIgnoringPromotion(Move move, Board board) {
+        int from = Bitboards.square(move.getFrom());
+        int to = Bitboards.square(move.getTo());
+        Piece piece = board.get(from);
+        if (piece == null) {
+            return of(from, to);
+        }
+
+        int rowDiff = move.getTo().getRow() - move.getFrom().getRow();
+        int colDiff = move.getTo().getCol() - move.getFrom().getCol();
+        PlayerColour enemy = piece.getColour().opponent();
+
+        if (piece.getType() == Piece.PieceType.PAWN) {
+            int direction = piece.getColour() == PlayerColour.WHITE ? -1 : 1;
+            if (colDiff == 0 && Math.abs(rowDiff) == 2) {
+                return of(from, to, DOUBLE_PAWN_PUSH);
+            }
+            if (rowDiff == 0 && Math.abs(colDiff) == 1 && isPawn(board, to, enemy)) {
+                return of(from, Bitboards.square(move.getFrom().getRow() + direction, move.getTo().getCol()), EN_PASSANT);
+            }
+            int passedPawn = Bitboards.square(move.getFrom().getRow(), move.getTo().getCol());
+            if (rowDiff == direction && Math.abs(colDiff) == 1 && board.isEmpty(to) && isPawn(board, passedPawn, enemy)) {
+                return of(from, to, EN_PASSANT);
+            }
+        } else if (piece.getType() == Piece.PieceType.KING && rowDiff == 0 && Math.abs(colDiff) > 1) {
+            return of(from, to, CASTLE);
+        }
+
+        return of(from, to, board.isEmpty(to) ? 0 : CAPTURE);
+    }
+
+    private static boolean isPawn(Board board, int square, PlayerColour colour) {
+        return (board.getBitboard(Piece.PieceType.PAWN, colour) & Bitboards.bit(square)) != 0;
+    }
+
+    /**
+     * Returns the move in long algebraic form, e.g. e2e4 or e7e8q, as used by perft and engine protocols.
+     */
+    public static String toAlgebraic(int move) {
+        String squares = Bitboards.toAlgebraic(getFrom(move)) + Bitboards.toAlgebraic(getTo(move));
+        Piece.PieceType promotion = getPromotion(move);
+        return promotion == null ? squares : squares + PROMOTION_LETTERS.charAt(promotion.ordinal());
+    }
+
+    /**
+     * Finds the legal move written in long algebraic form, or returns {@link #NONE} if there is none.
+     */
+    public static int fromAlgebraic(String algebraic, Board board) {
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generateMoves(board, board.getSideToMove(), moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (toAlgebraic(moves.get(i)).equals(algebraic)) {
+                return moves.get(i);
+            }
+        }
+        return NONE;
+    }
+
+    public static String toString(int move) {
+        return toMove(move).toString();
+    }
+}
@@ -1,5 +1,9 @@
 package training.chessington.model;
 
 public enum PlayerColour {
-    WHITE, BLACK
+    WHITE, BLACK;
+
+    public PlayerColour opponent() {
+        return this == WHITE ? BLACK : WHITE;
+    }
 }
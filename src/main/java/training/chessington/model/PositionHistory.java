@@ -0,0 +1,85 @@
+package training.chessington.model;
+
+import java.util.Arrays;
+
+/**
+ * Counts how often each position has occurred, keyed by Zobrist key, so repetitions are found in constant time
+ * per move. A pawn move or capture makes every earlier position unreachable, so the count table only holds
+ * the positions since the last one and is emptied whenever a new one is recorded.
+ */
+public class PositionHistory {
+    private static final int INITIAL_CAPACITY = 128;
+
+    private long[] window = new long[INITIAL_CAPACITY];
+    private int[] windowSlots = new int[INITIAL_CAPACITY];
+    private int windowSize = 0;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+
+    /**
+     * Records a position and returns how many times it has now occurred, including this time.
+     */
+    public int push(long key, boolean irreversible) {
+        if (irreversible) {
+            clear();
+        }
+        if (windowSize == window.length) {
+            window = Arrays.copyOf(window, windowSize * 2);
+            windowSlots = Arrays.copyOf(windowSlots, windowSize * 2);
+        }
+        if (windowSize * 2 >= keys.length) {
+            grow();
+        }
+        window[windowSize++] = key;
+
+        int slot = find(key);
+        keys[slot] = key;
+        return ++counts[slot];
+    }
+
+    /**
+     * The keys pushed since the last irreversible position, oldest first, including that position.
+     */
+    public long[] getKeys() {
+        return Arrays.copyOf(window, windowSize);
+    }
+
+    public int count(long key) {
+        return counts[find(key)];
+    }
+
+    public void clear() {
+        // Emptying a slot would cut the probe sequence of keys stored beyond it, so every slot is found first
+        for (int i = 0; i < windowSize; i++) {
+            windowSlots[i] = find(window[i]);
+        }
+        for (int i = 0; i < windowSize; i++) {
+            counts[windowSlots[i]] = 0;
+        }
+        windowSize = 0;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (counts[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package training.chessington.model;
+
+import training.chessington.model.pieces.Piece;
+
+/**
+ * Static exchange evaluation: the material a side wins or loses if both sides keep capturing on one square, each
+ * with its least valuable attacker, and either may stop whenever continuing would not pay. Attackers come from the
+ * attack tables, and when a piece leaves the square's line the sliders behind it are added, so x-rays through
+ * pieces of either colour count. No moves are made, and pins and checks are ignored.
+ */
+public final class StaticExchange {
+    private static final int[] VALUES = {100, 320, 330, 500, 900, 20000};
+    private static final int MAX_CAPTURES = 32;
+    private static final Piece.PieceType[] TYPES = Piece.PieceType.values();
+
+    private StaticExchange() {
+    }
+
+    public static int value(Piece.PieceType type) {
+        return VALUES[type.ordinal()];
+    }
+
+    /**
+     * The net material the side making the move gains once the exchange it starts has played out, in centipawns.
+     * A quiet move scores what it loses if the piece can be taken, so it is never positive unless it promotes.
+     */
+    public static int evaluate(Board board, int move) {
+        int from = PackedMove.getFrom(move);
+        int to = PackedMove.getTo(move);
+        Piece mover = board.get(from);
+        long occupied = board.getOccupied() & ~Bitboards.bit(from);
+
+        int[] gain = new int[MAX_CAPTURES];
+        if (PackedMove.hasFlag(move, PackedMove.EN_PASSANT)) {
+            gain[0] = VALUES[Piece.PieceType.PAWN.ordinal()];
+            occupied &= ~Bitboards.bit(Bitboards.square(Bitboards.row(from), Bitboards.col(to)));
+        } else {
+            Piece captured = board.get(to);
+            gain[0] = captured == null ? 0 : VALUES[captured.getType().ordinal()];
+        }
+        int onSquare = VALUES[mover.getType().ordinal()];
+        Piece.PieceType promotion = PackedMove.getPromotion(move);
+        if (promotion != null) {
+            gain[0] += VALUES[promotion.ordinal()] - VALUES[Piece.PieceType.PAWN.ordinal()];
+            onSquare = VALUES[promotion.ordinal()];
+        }
+
+        long attackers = (Attacks.attackers(board, to, PlayerColour.WHITE, occupied)
+                | Attacks.attackers(board, to, PlayerColour.BLACK, occupied)) & occupied;
+        long diagonalSliders = Attacks.diagonalSliders(board, PlayerColour.WHITE)
+                | Attacks.diagonalSliders(board, PlayerColour.BLACK);
+        long straightSliders = Attacks.straightSliders(board, PlayerColour.WHITE)
+                | Attacks.straightSliders(board, PlayerColour.BLACK);
+        boolean promotionSquare = Bitboards.row(to) == 0 || Bitboards.row(to) == 7;
+        PlayerColour side = mover.getColour();
+        int depth = 0;
+
+        while (depth < MAX_CAPTURES - 1) {
+            side = side.opponent();
+            long candidates = attackers & board.getOccupied(side);
+            if (candidates == 0) {
+                break;
+            }
+            Piece.PieceType type = leastValuable(board, candidates, side);
+            if (type == Piece.PieceType.KING && (attackers & board.getOccupied(side.opponent())) != 0) {
+                // The king cannot capture onto a square the other side still attacks
+                break;
+            }
+
+            depth++;
+            gain[depth] = onSquare - gain[depth - 1];
+            onSquare = VALUES[type.ordinal()];
+            if (type == Piece.PieceType.PAWN && promotionSquare) {
+                gain[depth] += VALUES[Piece.PieceType.QUEEN.ordinal()] - VALUES[Piece.PieceType.PAWN.ordinal()];
+                onSquare = VALUES[Piece.PieceType.QUEEN.ordinal()];
+            }
+            if (gain[depth] <= -gain[depth - 1]) {
+                // Later captures can only lower this side's gain, so it does at least as well by stopping now
+                depth--;
+                break;
+            }
+
+            occupied &= ~Long.lowestOneBit(candidates & board.getBitboard(type, side));
+            if (type == Piece.PieceType.PAWN || type == Piece.PieceType.BISHOP || type == Piece.PieceType.QUEEN) {
+                attackers |= MagicBitboards.bishopAttacks(to, occupied) & diagonalSliders;
+            }
+            if (type == Piece.PieceType.ROOK || type == Piece.PieceType.QUEEN) {
+                attackers |= MagicBitboards.rookAttacks(to, occupied) & straightSliders;
+            }
+            attackers &= occupied;
+        }
+
+        for (; depth > 0; depth--) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+        }
+        return gain[0];
+    }
+
+    /**
+     * How much the piece on the square stands to lose if the other side starts an exchange there with its least
+     * valuable attacker, or 0 if it is empty or safe.
+     */
+    public static int threatenedLoss(Board board, int square) {
+        Piece piece = board.get(square);
+        if (piece == null) {
+            return 0;
+        }
+        PlayerColour enemy = piece.getColour().opponent();
+        long attackers = Attacks.attackers(board, square, enemy);
+        if (attackers == 0) {
+            return 0;
+        }
+        int from = Long.numberOfTrailingZeros(attackers & board.getBitboard(leastValuable(board, attackers, enemy), enemy));
+        return Math.max(0, evaluate(board, PackedMove.of(from, square, PackedMove.CAPTURE)));
+    }
+
+    private static Piece.PieceType leastValuable(Board board, long candidates, PlayerColour colour) {
+        for (Piece.PieceType type : TYPES) {
+            if ((candidates & board.getBitboard(type, colour)) != 0) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("No piece among the candidates");
+    }
+}
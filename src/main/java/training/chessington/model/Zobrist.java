@@ -0,0 +1,64 @@
+package training.chessington.model;
+
+import training.chessington.model.pieces.Piece;
+
+/**
+ * Random keys for Zobrist hashing of positions.
+ * A position's key is the XOR of the keys for each piece on its square, the side to move,
+ * the castling rights and the en passant file, so {@link Board} can update it incrementally.
+ */
+public final class Zobrist {
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+
+    private static final long[][] PIECE_SQUARE_KEYS = new long[PlayerColour.values().length * Bitboards.PIECE_TYPES][Bitboards.SQUARES];
+    private static final long[] CASTLING_KEYS = new long[16];
+    private static final long[] EN_PASSANT_FILE_KEYS = new long[8];
+    private static final long BLACK_TO_MOVE_KEY;
+
+    private static long seed = 0x9E3779B97F4A7C15L;
+
+    static {
+        for (long[] keys : PIECE_SQUARE_KEYS) {
+            for (int square = 0; square < keys.length; square++) {
+                keys[square] = nextRandom();
+            }
+        }
+        for (int rights = 1; rights < CASTLING_KEYS.length; rights++) {
+            CASTLING_KEYS[rights] = nextRandom();
+        }
+        for (int file = 0; file < EN_PASSANT_FILE_KEYS.length; file++) {
+            EN_PASSANT_FILE_KEYS[file] = nextRandom();
+        }
+        BLACK_TO_MOVE_KEY = nextRandom();
+    }
+
+    private Zobrist() {
+    }
+
+    public static long piece(Piece.PieceType type, PlayerColour colour, int square) {
+        return PIECE_SQUARE_KEYS[Bitboards.index(type, colour)][square];
+    }
+
+    public static long castling(int rights) {
+        return CASTLING_KEYS[rights];
+    }
+
+    public static long enPassantFile(int file) {
+        return file < 0 ? 0 : EN_PASSANT_FILE_KEYS[file];
+    }
+
+    public static long sideToMove(PlayerColour colour) {
+        return colour == PlayerColour.BLACK ? BLACK_TO_MOVE_KEY : 0;
+    }
+
+    private static long nextRandom() {
+        // splitmix64
+        long z = (seed += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,24 +1,27 @@
 package training.chessington.model.pieces;
 
+import training.chessington.model.Bitboards;
 import training.chessington.model.Board;
 import training.chessington.model.Coordinates;
 import training.chessington.model.Move;
+import training.chessington.model.MoveList;
+import training.chessington.model.PackedMove;
 import training.chessington.model.PlayerColour;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
+/**
+ * Pieces hold no state beyond their type and colour, so a single instance of each can be shared
+ * between squares, boards and threads (see {@link Pieces#of}).
+ */
 public abstract class AbstractPiece implements Piece {
 
     protected final Piece.PieceType type;
     protected final PlayerColour colour;
-    protected boolean hasBeenMoved;
 
     protected AbstractPiece(Piece.PieceType type, PlayerColour colour) {
         this.type = type;
         this.colour = colour;
-        hasBeenMoved = false;
     }
 
     @Override
@@ -37,35 +40,17 @@ public abstract class AbstractPiece implements Piece {
     }
 
     @Override
-    public void setMoved() {
-        hasBeenMoved = true;
+    public List<Move> getAllowedMoves(Coordinates from, Board board) {
+        MoveList moves = new MoveList();
+        generateMoves(Bitboards.square(from), board, moves);
+        return moves.toMoves();
     }
 
-    @Override
-    public boolean  hasBeenMoved() {
-        return hasBeenMoved;
-    }
-
-    List<Move> getMovesInDirection(Coordinates from, Coordinates dir, Board board) {
-        List<Move> allowedMoves = new ArrayList<>();
-        for(Coordinates to = from.plus(dir); to.isOnBoard(); to = to.plus(dir)) {
-            if(board.isEmptyOrCapturable(to, colour)) {
-                allowedMoves.add(new Move(from, to));
-            }
-            if(!board.isEmpty(to)) {
-                break;
-            }
-        }
-        return allowedMoves;
-    }
-
-    Optional<Move> getMoveOneStepInDirection(Coordinates from, Coordinates dir, Board board) {
-        Coordinates to = from.plus(dir);
-
-        if(to.isOnBoard() && board.isEmptyOrCapturable(to, colour)) {
-            return Optional.of(new Move(from, to));
-        } else {
-            return Optional.empty();
+    void addMovesToTargets(int from, long targets, Board board, MoveList moves) {
+        long enemies = board.getOccupied(colour.opponent());
+        for (; targets != 0; targets &= targets - 1) {
+            int to = Long.numberOfTrailingZeros(targets);
+            moves.add(PackedMove.of(from, to, (enemies & Bitboards.bit(to)) != 0 ? PackedMove.CAPTURE : 0));
         }
     }
 }
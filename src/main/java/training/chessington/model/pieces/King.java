@@ -1,71 +1,54 @@
 package training.chessington.model.pieces;
 
+import training.chessington.model.Attacks;
+import training.chessington.model.Bitboards;
 import training.chessington.model.Board;
-import training.chessington.model.Coordinates;
-import training.chessington.model.Move;
+import training.chessington.model.MoveList;
+import training.chessington.model.PackedMove;
 import training.chessington.model.PlayerColour;
-
-import java.util.ArrayList;
-import java.util.List;
+import training.chessington.model.Zobrist;
 
 public class King extends AbstractPiece {
+    private static final int HOME_COL = 4;
+
+    private final int kingsideRight;
+    private final int queensideRight;
+
     public King(PlayerColour colour) {
         super(PieceType.KING, colour);
+        kingsideRight = colour == PlayerColour.WHITE ? Zobrist.WHITE_KINGSIDE : Zobrist.BLACK_KINGSIDE;
+        queensideRight = colour == PlayerColour.WHITE ? Zobrist.WHITE_QUEENSIDE : Zobrist.BLACK_QUEENSIDE;
     }
 
     @Override
-    public List<Move> getAllowedMoves(Coordinates from, Board board) {
-        List<Move> allowedMoves = new ArrayList<>();
-
-        for (Coordinates dir : Coordinates.axialDirections) {
-            addMoveIfAllowed(allowedMoves, new Move(from, from.plus(dir)), board);
-        }
-
-        for (Coordinates dir : Coordinates.diagonalDirections) {
-            addMoveIfAllowed(allowedMoves, new Move(from, from.plus(dir)), board);
-        }
-
-        addCastleMoves(allowedMoves, from, board);
-
-        return allowedMoves;
+    public void generateMoves(int from, Board board, MoveList moves) {
+        addMovesToTargets(from, Attacks.king(from) & ~board.getOccupied(colour), board, moves);
+        addCastleMoves(from, board, moves);
     }
 
-    private void addCastleMoves(List<Move> allowedMoves, Coordinates from, Board board) {
-        if (!hasBeenMoved) {
-            Coordinates kingSideRookCoords = new Coordinates(Board.getBackRowIndex(colour), 7);
-            if (canCastle(from, kingSideRookCoords, board)) {
-                allowedMoves.add(new Move(from, from.plus(0, 2)));
+    private void addCastleMoves(int from, Board board, MoveList moves) {
+        int rights = board.getCastlingRights();
+        if ((rights & (kingsideRight | queensideRight)) != 0
+                && from == Bitboards.square(Board.getBackRowIndex(colour), HOME_COL)
+                && !board.isSquareUnderThreat(from, colour)) {
+            if ((rights & kingsideRight) != 0 && canCastle(from, 1, board)) {
+                moves.add(PackedMove.of(from, from + 2, PackedMove.CASTLE));
             }
 
-            Coordinates queenSideRookCoords = new Coordinates(Board.getBackRowIndex(colour), 0);
-            if (canCastle(from, queenSideRookCoords, board)) {
-                allowedMoves.add(new Move(from, from.plus(0, -2)));
+            if ((rights & queensideRight) != 0 && canCastle(from, -1, board)) {
+                moves.add(PackedMove.of(from, from - 2, PackedMove.CASTLE));
             }
         }
     }
 
-    private boolean canCastle(Coordinates kingCoords, Coordinates rookCoords, Board board) {
-        Piece rook = board.get(rookCoords);
-        int direction = kingCoords.getCol() - rookCoords.getCol() > 0 ? -1 : 1;
-
-        if (rook != null && rook.getType() == PieceType.ROOK &&
-                rook.getColour() == colour && !board.get(rookCoords).hasBeenMoved()) {
-            for (int i = 1; i <= 2; i++) {
-                Coordinates curr = kingCoords.plus(0, direction * i);
-                if (board.get(curr) != null || board.isSquareUnderThreat(curr, colour)) {
-                    return false;
-                }
+    private boolean canCastle(int kingSquare, int direction, Board board) {
+        for (int i = 1; i <= 2; i++) {
+            int curr = kingSquare + direction * i;
+            if (!board.isEmpty(curr) || board.isSquareUnderThreat(curr, colour)) {
+                return false;
             }
-            return true;
         }
-
-        return false;
+        // On the queenside the rook also passes over the b-file, which need not be safe but must be empty
+        return direction > 0 || board.isEmpty(kingSquare - 3);
     }
-
-    private void addMoveIfAllowed(List<Move> allowedMoves, Move move, Board board) {
-        if (move.getTo().isOnBoard() && board.isEmptyOrCapturable(move.getTo(), colour)) {
-            allowedMoves.add(move);
-        }
-    }
-
 }
@@ -1,59 +1,70 @@
 package training.chessington.model.pieces;
 
+import training.chessington.model.Attacks;
+import training.chessington.model.Bitboards;
 import training.chessington.model.Board;
-import training.chessington.model.Coordinates;
-import training.chessington.model.Move;
+import training.chessington.model.MoveList;
+import training.chessington.model.PackedMove;
 import training.chessington.model.PlayerColour;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.IntStream;
-
 public class Pawn extends AbstractPiece {
+    private static final Piece.PieceType[] PROMOTIONS = {
+            Piece.PieceType.QUEEN, Piece.PieceType.ROOK, Piece.PieceType.BISHOP, Piece.PieceType.KNIGHT
+    };
+
     public Pawn(PlayerColour colour) {
         super(Piece.PieceType.PAWN, colour);
     }
 
     @Override
-    public List<Move> getAllowedMoves(Coordinates from, Board board) {
-        List<Move> allowedMoves = new ArrayList<>();
-
+    public void generateMoves(int from, Board board, MoveList moves) {
         int direction = getDirection();
-        Move singleStepForward = new Move(from, from.plus(direction, 0));
-        addNonCaptureMoveIfAllowed(allowedMoves, singleStepForward, board);
-
-        if (hasNotMoved(from) && allowedMoves.size() > 0) {
-            Move twoStepsForward = new Move(from, from.plus(direction * 2, 0));
-            addNonCaptureMoveIfAllowed(allowedMoves, twoStepsForward, board);
+        int row = Bitboards.row(from);
+        int col = Bitboards.col(from);
+        int forwardRow = row + direction;
+        if (forwardRow < 0 || forwardRow >= 8) {
+            return;
         }
 
-        addCaptureMoveIfAllowed(allowedMoves, new Move(from, from.plus(direction, 1)), board);
-        addCaptureMoveIfAllowed(allowedMoves, new Move(from, from.plus(direction, -1)), board);
-
-        addEnPassantMove(allowedMoves, from, board);
+        int singleStepForward = Bitboards.square(forwardRow, col);
+        if (board.isEmpty(singleStepForward)) {
+            addMove(PackedMove.of(from, singleStepForward), forwardRow, moves);
 
-        return allowedMoves;
-    }
+            if (hasNotMoved(row)) {
+                int twoStepsForward = Bitboards.square(forwardRow + direction, col);
+                if (board.isEmpty(twoStepsForward)) {
+                    moves.add(PackedMove.of(from, twoStepsForward, PackedMove.DOUBLE_PAWN_PUSH));
+                }
+            }
+        }
 
-    private void addCaptureMoveIfAllowed(List<Move> allowedMoves, Move move, Board board) {
-        if (move.getTo().isOnBoard() && board.get(move.getTo()) != null && board.get(move.getTo()).getColour() != colour) {
-            allowedMoves.add(move);
+        long captures = Attacks.pawn(colour, from) & board.getOccupied(colour.opponent());
+        for (; captures != 0; captures &= captures - 1) {
+            addMove(PackedMove.of(from, Long.numberOfTrailingZeros(captures), PackedMove.CAPTURE), forwardRow, moves);
         }
+
+        addEnPassantMove(from, board, moves);
     }
 
-    private void addNonCaptureMoveIfAllowed(List<Move> allowedMoves, Move move, Board board) {
-        if (move.getTo().isOnBoard() && board.get(move.getTo()) == null) {
-            allowedMoves.add(move);
+    /**
+     * Adds the move, or one move per promotion piece when it reaches the last rank.
+     */
+    private void addMove(int move, int toRow, MoveList moves) {
+        if (toRow != Board.getBackRowIndex(colour.opponent())) {
+            moves.add(move);
+            return;
+        }
+        for (Piece.PieceType promotion : PROMOTIONS) {
+            moves.add(PackedMove.withPromotion(move, promotion));
         }
     }
 
-    private void addEnPassantMove(List<Move> allowedMoves, Coordinates from, Board board) {
-        if(board.hasLastMove()){
-            Move lastMove = board.getLastMove();
-            Piece enemyPiece = board.get(lastMove.getTo());
-            if(enemyPiece.getType() == PieceType.PAWN && Coordinates.manhattanDistanceBetween(lastMove.getFrom(), lastMove.getTo()) == 2 &&
-                    Coordinates.manhattanDistanceBetween(from, lastMove.getTo()) == 1){
-                allowedMoves.add(new Move(from, lastMove.getTo()));
+    private void addEnPassantMove(int from, Board board, MoveList moves) {
+        int enPassantSquare = board.getEnPassantSquare();
+        if (enPassantSquare != Bitboards.NO_SQUARE && (Attacks.pawn(colour, from) & Bitboards.bit(enPassantSquare)) != 0) {
+            Piece enemyPiece = board.get(Bitboards.square(Bitboards.row(from), Bitboards.col(enPassantSquare)));
+            if (enemyPiece != null && enemyPiece.getType() == PieceType.PAWN && enemyPiece.getColour() != colour) {
+                moves.add(PackedMove.of(from, enPassantSquare, PackedMove.EN_PASSANT));
             }
         }
     }
@@ -62,8 +73,8 @@ public class Pawn extends AbstractPiece {
         return colour == PlayerColour.WHITE ? -1 : 1;
     }
 
-    private boolean hasNotMoved(Coordinates from) {
+    private boolean hasNotMoved(int row) {
         int startRow = Board.getBackRowIndex(colour) + getDirection();
-        return startRow == from.getRow();
+        return startRow == row;
     }
 }
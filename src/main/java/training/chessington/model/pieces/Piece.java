@@ -3,6 +3,7 @@ package training.chessington.model.pieces;
 import training.chessington.model.Board;
 import training.chessington.model.Coordinates;
 import training.chessington.model.Move;
+import training.chessington.model.MoveList;
 import training.chessington.model.PlayerColour;
 
 import java.util.List;
@@ -14,8 +15,8 @@ public interface Piece {
 
     PieceType getType();
     PlayerColour getColour();
-    void setMoved();
-    boolean hasBeenMoved();
 
     List<Move> getAllowedMoves(Coordinates from, Board board);
+
+    void generateMoves(int from, Board board, MoveList moves);
 }
@@ -0,0 +1,45 @@
+package training.chessington.model.pieces;
+
+import training.chessington.model.Bitboards;
+import training.chessington.model.PlayerColour;
+
+/**
+ * The shared instance of each piece type and colour.
+ */
+public final class Pieces {
+    private static final Piece[] PIECES = new Piece[PlayerColour.values().length * Bitboards.PIECE_TYPES];
+
+    static {
+        for (PlayerColour colour : PlayerColour.values()) {
+            for (Piece.PieceType type : Piece.PieceType.values()) {
+                PIECES[Bitboards.index(type, colour)] = create(type, colour);
+            }
+        }
+    }
+
+    private Pieces() {
+    }
+
+    public static Piece of(Piece.PieceType type, PlayerColour colour) {
+        return PIECES[Bitboards.index(type, colour)];
+    }
+
+    private static Piece create(Piece.PieceType type, PlayerColour colour) {
+        switch (type) {
+            case PAWN:
+                return new Pawn(colour);
+            case KNIGHT:
+                return new Knight(colour);
+            case BISHOP:
+                return new Bishop(colour);
+            case ROOK:
+                return new Rook(colour);
+            case QUEEN:
+                return new Queen(colour);
+            case KING:
+                return new King(colour);
+            default:
+                throw new IllegalArgumentException("Unknown piece type " + type);
+        }
+    }
+}
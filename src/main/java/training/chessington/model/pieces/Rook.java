@@ -1,26 +1,18 @@
 package training.chessington.model.pieces;
 
 import training.chessington.model.Board;
-import training.chessington.model.Coordinates;
-import training.chessington.model.Move;
+import training.chessington.model.MagicBitboards;
+import training.chessington.model.MoveList;
 import training.chessington.model.PlayerColour;
 
-import java.util.ArrayList;
-import java.util.List;
-
 public class Rook extends AbstractPiece {
     public Rook(PlayerColour colour) {
         super(PieceType.ROOK, colour);
     }
 
     @Override
-    public List<Move> getAllowedMoves(Coordinates from, Board board) {
-        List<Move> allowedMoves = new ArrayList<>();
-
-        for (Coordinates dir : Coordinates.axialDirections) {
-            allowedMoves.addAll(getMovesInDirection(from, dir, board));
-        }
-
-        return allowedMoves;
+    public void generateMoves(int from, Board board, MoveList moves) {
+        long targets = MagicBitboards.rookAttacks(from, board.getOccupied()) & ~board.getOccupied(colour);
+        addMovesToTargets(from, targets, board, moves);
     }
 }
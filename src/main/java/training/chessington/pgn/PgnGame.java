@@ -0,0 +1,61 @@
+package training.chessington.pgn;
+
+import training.chessington.model.Fen;
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game from a PGN file: its tag pairs in file order, its main line moves in SAN and its result
+ * token. Comments, variations and annotation glyphs are dropped by the reader.
+ */
+public class PgnGame {
+    public static final String UNKNOWN_RESULT = "*";
+
+    private final Map<String, String> tags;
+    private final List<String> moves;
+    private final String result;
+
+    public PgnGame(Map<String, String> tags, List<String> moves, String result) {
+        this.tags = Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        this.moves = Collections.unmodifiableList(new ArrayList<>(moves));
+        this.result = result;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    public String getTag(String name) {
+        return tags.get(name);
+    }
+
+    public List<String> getMoves() {
+        return moves;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public String getStartingFen() {
+        String fen = tags.get("FEN");
+        return fen == null ? Fen.STARTING_POSITION : fen;
+    }
+
+    /**
+     * Plays the moves from the starting position, failing on the first one that does not resolve to an allowed move.
+     */
+    public Game replay() throws InvalidMoveException {
+        Game game = Game.fromFen(getStartingFen());
+        for (String san : moves) {
+            game.makeMove(San.parse(san, game));
+        }
+        return game;
+    }
+}
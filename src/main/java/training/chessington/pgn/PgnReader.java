@@ -0,0 +1,262 @@
+package training.chessington.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads PGN games one at a time from a channel through fixed size buffers, so archives of any size
+ * are read in constant memory. Moves are returned as SAN tokens; {@link PgnGame#replay()} resolves them.
+ * Input is decoded as UTF-8 with malformed bytes replaced, since older archives are often Latin-1.
+ */
+public class PgnReader implements Closeable {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private final StringBuilder token = new StringBuilder();
+
+    private boolean endOfInput = false;
+    private boolean flushed = false;
+    private int pushedBack = -1;
+    private int previous = '\n';
+    private boolean atLineStart = true;
+
+    public PgnReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public PgnReader(ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.bytes = ByteBuffer.allocate(bufferSize);
+        this.chars = CharBuffer.allocate(bufferSize);
+        bytes.flip();
+        chars.flip();
+    }
+
+    public static PgnReader open(Path path) throws IOException {
+        return new PgnReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Returns the next game, or null once the input is exhausted. A game missing its result token
+     * ends at the next tag section or the end of input and is given the unknown result.
+     */
+    public PgnGame next() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<String> moves = new ArrayList<>();
+        boolean started = false;
+        boolean inMovetext = false;
+
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '%' && atLineStart) {
+                skipPast('\n');
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            switch (c) {
+                case '[':
+                    if (inMovetext) {
+                        pushedBack = c;
+                        return new PgnGame(tags, moves, PgnGame.UNKNOWN_RESULT);
+                    }
+                    readTag(tags);
+                    started = true;
+                    break;
+                case '{':
+                    skipPast('}');
+                    break;
+                case ';':
+                    skipPast('\n');
+                    break;
+                case '(':
+                    skipVariation();
+                    break;
+                case ')':
+                case ']':
+                case '}':
+                    break;
+                default:
+                    started = true;
+                    inMovetext = true;
+                    readToken(c);
+                    if (isResult(token)) {
+                        return new PgnGame(tags, moves, token.toString());
+                    }
+                    addMove(moves);
+            }
+        }
+        return started ? new PgnGame(tags, moves, PgnGame.UNKNOWN_RESULT) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Adds the SAN in the current token, which may be glued to its move number as in 12.Nf3,
+     * and skips bare move numbers and numeric annotation glyphs such as $1.
+     */
+    private void addMove(List<String> moves) {
+        int end = token.length();
+        if (token.charAt(0) == '$') {
+            return;
+        }
+        int start = 0;
+        while (start < end && Character.isDigit(token.charAt(start))) {
+            start++;
+        }
+        if (start == end || token.charAt(start) == '.') {
+            while (start < end && token.charAt(start) == '.') {
+                start++;
+            }
+        } else {
+            start = 0;
+        }
+        while (end > start && (token.charAt(end - 1) == '!' || token.charAt(end - 1) == '?')) {
+            end--;
+        }
+        if (start < end) {
+            moves.add(token.substring(start, end));
+        }
+    }
+
+    private void readToken(int first) throws IOException {
+        token.setLength(0);
+        token.append((char) first);
+        int c;
+        while ((c = read()) != -1) {
+            if (Character.isWhitespace(c) || "[]{}();".indexOf(c) >= 0) {
+                pushedBack = c;
+                return;
+            }
+            token.append((char) c);
+        }
+    }
+
+    private void readTag(Map<String, String> tags) throws IOException {
+        token.setLength(0);
+        int c = skipWhitespace();
+        while (c != -1 && !Character.isWhitespace(c) && c != '"' && c != ']') {
+            token.append((char) c);
+            c = read();
+        }
+        String name = token.toString();
+
+        if (c != '"') {
+            c = skipWhitespace();
+        }
+        token.setLength(0);
+        if (c == '"') {
+            while ((c = read()) != -1 && c != '"') {
+                if (c == '\\') {
+                    c = read();
+                    if (c == -1) {
+                        break;
+                    }
+                }
+                token.append((char) c);
+            }
+            c = read();
+        }
+        while (c != -1 && c != ']' && c != '\n') {
+            c = read();
+        }
+        if (!name.isEmpty()) {
+            tags.put(name, token.toString());
+        }
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) != -1) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipPast('}');
+            } else if (c == ';') {
+                skipPast('\n');
+            }
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && Character.isWhitespace(c) && c != '\n');
+        return c;
+    }
+
+    private void skipPast(char end) throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && c != end);
+    }
+
+    private static boolean isResult(CharSequence token) {
+        return "1-0".contentEquals(token) || "0-1".contentEquals(token)
+                || "1/2-1/2".contentEquals(token) || PgnGame.UNKNOWN_RESULT.contentEquals(token);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushedBack >= 0) {
+            c = pushedBack;
+            pushedBack = -1;
+        } else if (chars.hasRemaining() || fill()) {
+            c = chars.get();
+        } else {
+            return -1;
+        }
+        atLineStart = previous == '\n';
+        previous = c;
+        return c;
+    }
+
+    private boolean fill() throws IOException {
+        if (flushed) {
+            return false;
+        }
+        chars.clear();
+        while (chars.position() == 0) {
+            if (!endOfInput) {
+                bytes.compact();
+                endOfInput = channel.read(bytes) < 0;
+                bytes.flip();
+            }
+            decoder.decode(bytes, chars, endOfInput);
+            if (endOfInput) {
+                decoder.flush(chars);
+                flushed = true;
+                break;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
@@ -0,0 +1,82 @@
+package training.chessington.pgn;
+
+import training.chessington.model.Board;
+import training.chessington.model.PlayerColour;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes games in PGN export format: tag pairs, a blank line, then movetext wrapped at 80 columns.
+ * Use {@link San#format} to turn the moves of a game into SAN as they are played.
+ */
+public class PgnWriter implements Closeable, Flushable {
+    private static final int LINE_LENGTH = 80;
+
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(LINE_LENGTH);
+
+    public PgnWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void write(PgnGame game) throws IOException {
+        for (Map.Entry<String, String> tag : game.getTags().entrySet()) {
+            out.write('[');
+            out.write(tag.getKey());
+            out.write(" \"");
+            out.write(escape(tag.getValue()));
+            out.write("\"]\n");
+        }
+        out.write('\n');
+
+        Board start = Board.fromFen(game.getStartingFen());
+        int moveNumber = start.getFullmoveNumber();
+        boolean white = start.getSideToMove() == PlayerColour.WHITE;
+        line.setLength(0);
+        if (!white && !game.getMoves().isEmpty()) {
+            append(moveNumber + "...");
+        }
+        for (String san : game.getMoves()) {
+            if (white) {
+                append(moveNumber + ".");
+            } else {
+                moveNumber++;
+            }
+            append(san);
+            white = !white;
+        }
+        append(game.getResult());
+        out.write(line.toString());
+        out.write("\n\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void append(String text) throws IOException {
+        if (line.length() > 0 && line.length() + 1 + text.length() > LINE_LENGTH) {
+            out.write(line.toString());
+            out.write('\n');
+            line.setLength(0);
+        }
+        if (line.length() > 0) {
+            line.append(' ');
+        }
+        line.append(text);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
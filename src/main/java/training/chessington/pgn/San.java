@@ -0,0 +1,210 @@
+package training.chessington.pgn;
+
+import training.chessington.model.Bitboards;
+import training.chessington.model.Board;
+import training.chessington.model.Coordinates;
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+import training.chessington.model.Move;
+import training.chessington.model.PackedMove;
+import training.chessington.model.PlayerColour;
+import training.chessington.model.pieces.Piece;
+
+import java.util.List;
+
+/**
+ * Converts between {@link Move}s and Standard Algebraic Notation, e.g. Nbd7, exd6, O-O or Qh5#.
+ * SAN names only the destination, so moves are resolved against the game's allowed moves.
+ */
+public final class San {
+    private static final String PIECE_LETTERS = "PNBRQK";
+
+    private San() {
+    }
+
+    public static Move parse(String san, Game game) throws InvalidMoveException {
+        Board board = game.getBoard();
+        PlayerColour colour = board.getSideToMove();
+
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        String text = san.substring(0, end);
+
+        if (text.equals("O-O") || text.equals("0-0")) {
+            return castle(text, game, colour, 6);
+        }
+        if (text.equals("O-O-O") || text.equals("0-0-0")) {
+            return castle(text, game, colour, 2);
+        }
+
+        Piece.PieceType promotion = null;
+        int equals = text.indexOf('=');
+        if (equals >= 0) {
+            if (equals != text.length() - 2) {
+                throw invalid(san, "malformed promotion");
+            }
+            promotion = pieceType(text.charAt(equals + 1));
+            if (promotion == null || promotion == Piece.PieceType.PAWN || promotion == Piece.PieceType.KING) {
+                throw invalid(san, "cannot promote to '" + text.charAt(equals + 1) + "'");
+            }
+            text = text.substring(0, equals);
+        } else if (text.length() >= 3 && "NBRQ".indexOf(text.charAt(text.length() - 1)) >= 0
+                && Character.isDigit(text.charAt(text.length() - 2))) {
+            // Some exporters leave out the '=', as in e8Q
+            promotion = pieceType(text.charAt(text.length() - 1));
+            text = text.substring(0, text.length() - 1);
+        }
+
+        int start = 0;
+        Piece.PieceType type = Piece.PieceType.PAWN;
+        if (!text.isEmpty() && Character.isUpperCase(text.charAt(0))) {
+            type = pieceType(text.charAt(0));
+            if (type == null || type == Piece.PieceType.PAWN) {
+                throw invalid(san, "unknown piece '" + text.charAt(0) + "'");
+            }
+            start = 1;
+        }
+        if (text.length() - start < 2) {
+            throw invalid(san, "missing destination square");
+        }
+        int target = square(text.charAt(text.length() - 2), text.charAt(text.length() - 1));
+        if (target == Bitboards.NO_SQUARE) {
+            throw invalid(san, "bad destination square");
+        }
+
+        int fromCol = -1;
+        int fromRow = -1;
+        for (int i = start; i < text.length() - 2; i++) {
+            char c = text.charAt(i);
+            if ('a' <= c && c <= 'h') {
+                fromCol = c - 'a';
+            } else if ('1' <= c && c <= '8') {
+                fromRow = '8' - c;
+            } else if (c != 'x' && c != ':') {
+                throw invalid(san, "unexpected '" + c + "'");
+            }
+        }
+
+        Move found = null;
+        long candidates = board.getBitboard(type, colour);
+        while (candidates != 0) {
+            int from = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            if ((fromCol >= 0 && Bitboards.col(from) != fromCol) || (fromRow >= 0 && Bitboards.row(from) != fromRow)) {
+                continue;
+            }
+            for (Move move : game.getAllowedMoves(Bitboards.toCoordinates(from))) {
+                int packed = PackedMove.fromMove(move, board);
+                if (PackedMove.getTo(packed) != target || PackedMove.getPromotion(packed) != promotion) {
+                    continue;
+                }
+                if (found != null) {
+                    throw invalid(san, "ambiguous move");
+                }
+                found = move;
+            }
+        }
+        if (found == null) {
+            throw invalid(san, "no such move for " + colour);
+        }
+        return found;
+    }
+
+    /**
+     * Formats a move that is allowed in the game's current position, including the check or mate suffix.
+     */
+    public static String format(Move move, Game game) {
+        Board board = game.getBoard();
+        int packed = PackedMove.fromMove(move, board);
+        int from = PackedMove.getFrom(packed);
+        int to = PackedMove.getTo(packed);
+        Piece piece = board.get(from);
+        StringBuilder san = new StringBuilder(8);
+
+        if (PackedMove.hasFlag(packed, PackedMove.CASTLE)) {
+            san.append(Bitboards.col(to) > Bitboards.col(from) ? "O-O" : "O-O-O");
+        } else if (piece.getType() == Piece.PieceType.PAWN) {
+            if (PackedMove.isCapture(packed)) {
+                san.append((char) ('a' + Bitboards.col(from))).append('x');
+            }
+            san.append(Bitboards.toAlgebraic(to));
+            Piece.PieceType promotion = PackedMove.getPromotion(packed);
+            if (promotion != null) {
+                san.append('=').append(PIECE_LETTERS.charAt(promotion.ordinal()));
+            }
+        } else {
+            san.append(PIECE_LETTERS.charAt(piece.getType().ordinal()));
+            appendDisambiguation(san, game, piece, from, move.getTo());
+            if (PackedMove.isCapture(packed)) {
+                san.append('x');
+            }
+            san.append(Bitboards.toAlgebraic(to));
+        }
+
+        PlayerColour opponent = piece.getColour().opponent();
+        board.makeMove(packed);
+        if (board.isInCheck(opponent)) {
+            san.append(board.hasNoMoves(opponent) ? '#' : '+');
+        }
+        board.unmakeMove();
+        return san.toString();
+    }
+
+    private static void appendDisambiguation(StringBuilder san, Game game, Piece piece, int from, Coordinates to) {
+        boolean ambiguous = false;
+        boolean sameCol = false;
+        boolean sameRow = false;
+        long others = game.getBoard().getBitboard(piece.getType(), piece.getColour()) & ~Bitboards.bit(from);
+        while (others != 0) {
+            int other = Long.numberOfTrailingZeros(others);
+            others &= others - 1;
+            Coordinates otherCoords = Bitboards.toCoordinates(other);
+            if (game.getAllowedMoves(otherCoords).contains(Move.of(otherCoords, to))) {
+                ambiguous = true;
+                sameCol |= Bitboards.col(other) == Bitboards.col(from);
+                sameRow |= Bitboards.row(other) == Bitboards.row(from);
+            }
+        }
+        if (!ambiguous) {
+            return;
+        }
+        if (!sameCol) {
+            san.append((char) ('a' + Bitboards.col(from)));
+        } else if (!sameRow) {
+            san.append((char) ('8' - Bitboards.row(from)));
+        } else {
+            san.append(Bitboards.toAlgebraic(from));
+        }
+    }
+
+    private static Move castle(String san, Game game, PlayerColour colour, int kingCol) throws InvalidMoveException {
+        int kingSquare = game.getBoard().getKingSquare(colour);
+        if (kingSquare == Bitboards.NO_SQUARE) {
+            throw invalid(san, "no king to castle");
+        }
+        Move move = Move.of(kingSquare, Bitboards.square(Bitboards.row(kingSquare), kingCol));
+        List<Move> allowed = game.getAllowedMoves(move.getFrom());
+        if (!allowed.contains(move)) {
+            throw invalid(san, colour + " cannot castle");
+        }
+        return move;
+    }
+
+    private static Piece.PieceType pieceType(char letter) {
+        int index = PIECE_LETTERS.indexOf(letter);
+        return index < 0 ? null : Piece.PieceType.values()[index];
+    }
+
+    private static int square(char file, char rank) {
+        if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+            return Bitboards.NO_SQUARE;
+        }
+        return Bitboards.square('8' - rank, file - 'a');
+    }
+
+    private static InvalidMoveException invalid(String san, String reason) {
+        return new InvalidMoveException("Invalid SAN '" + san + "': " + reason);
+    }
+}
@@ -0,0 +1,116 @@
+package training.chessington.pgn;
+
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Checks PGN games for legality in parallel. The calling thread parses games and hands each one to a worker,
+ * which replays it on a board of its own. Results reach the consumer on the calling thread in input order,
+ * and parsing waits whenever the configured number of games is in flight, so memory stays bounded
+ * however large the input is.
+ */
+public class ValidationPipeline implements AutoCloseable {
+    private final ForkJoinPool workers;
+    private final int maxInFlight;
+
+    public ValidationPipeline(int threads, int maxInFlight) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, was " + threads);
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Games in flight must be at least 1, was " + maxInFlight);
+        }
+        this.workers = new ForkJoinPool(threads);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Validates every game the reader returns and gives back the number of games read.
+     */
+    public long validate(PgnReader reader, Consumer<ValidationResult> results) throws IOException, InterruptedException {
+        ArrayDeque<Future<ValidationResult>> inFlight = new ArrayDeque<>(maxInFlight);
+        long gameNumber = 0;
+        PgnGame game;
+        while ((game = reader.next()) != null) {
+            if (inFlight.size() == maxInFlight) {
+                results.accept(await(inFlight.poll()));
+            }
+            PgnGame toReplay = game;
+            long number = ++gameNumber;
+            inFlight.add(workers.submit(() -> replay(number, toReplay)));
+        }
+        while (!inFlight.isEmpty()) {
+            results.accept(await(inFlight.poll()));
+        }
+        return gameNumber;
+    }
+
+    public static ValidationResult replay(long gameNumber, PgnGame game) {
+        Game replay;
+        try {
+            replay = Game.fromFen(game.getStartingFen());
+        } catch (IllegalArgumentException e) {
+            return ValidationResult.illegal(gameNumber, game, 0, e.getMessage(), null);
+        }
+
+        List<String> moves = game.getMoves();
+        for (int i = 0; i < moves.size(); i++) {
+            try {
+                replay.makeMove(San.parse(moves.get(i), replay));
+            } catch (InvalidMoveException e) {
+                return ValidationResult.illegal(gameNumber, game, i + 1, e.getMessage(), replay.toFen());
+            }
+        }
+        return ValidationResult.legal(gameNumber, game, replay.toFen());
+    }
+
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    private static ValidationResult await(Future<ValidationResult> result) throws InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game replay failed", e.getCause());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: ValidationPipeline file.pgn [threads] [games in flight]");
+            System.exit(1);
+        }
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxInFlight = args.length > 2 ? Integer.parseInt(args[2]) : threads * 64;
+
+        long[] illegal = new long[1];
+        long start = System.nanoTime();
+        long games;
+        try (PgnReader reader = PgnReader.open(Paths.get(args[0]));
+             ValidationPipeline pipeline = new ValidationPipeline(threads, maxInFlight)) {
+            games = pipeline.validate(reader, result -> {
+                if (!result.isLegal()) {
+                    illegal[0]++;
+                    System.out.println(result);
+                }
+            });
+        }
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+        System.out.println("Games: " + games);
+        System.out.println("Illegal: " + illegal[0]);
+        System.out.println("Time: " + elapsedNanos / 1_000_000 + " ms");
+        System.out.println("Games per second: " + games * 1_000_000_000L / elapsedNanos);
+    }
+}
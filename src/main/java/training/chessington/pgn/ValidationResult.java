@@ -0,0 +1,67 @@
+package training.chessington.pgn;
+
+/**
+ * The outcome of replaying one game: either every move was legal, or the game stopped at the first
+ * illegal ply. The FEN is the position reached after the last legal move.
+ */
+public class ValidationResult {
+    private final long gameNumber;
+    private final PgnGame game;
+    private final int ply;
+    private final String reason;
+    private final String finalFen;
+
+    private ValidationResult(long gameNumber, PgnGame game, int ply, String reason, String finalFen) {
+        this.gameNumber = gameNumber;
+        this.game = game;
+        this.ply = ply;
+        this.reason = reason;
+        this.finalFen = finalFen;
+    }
+
+    public static ValidationResult legal(long gameNumber, PgnGame game, String finalFen) {
+        return new ValidationResult(gameNumber, game, game.getMoves().size(), null, finalFen);
+    }
+
+    public static ValidationResult illegal(long gameNumber, PgnGame game, int ply, String reason, String finalFen) {
+        return new ValidationResult(gameNumber, game, ply, reason, finalFen);
+    }
+
+    /**
+     * The position of the game in its input, counting from 1.
+     */
+    public long getGameNumber() {
+        return gameNumber;
+    }
+
+    public PgnGame getGame() {
+        return game;
+    }
+
+    public boolean isLegal() {
+        return reason == null;
+    }
+
+    /**
+     * For a legal game the number of plies played, otherwise the ply of the illegal move, counting from 1.
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public String getFinalFen() {
+        return finalFen;
+    }
+
+    @Override
+    public String toString() {
+        if (isLegal()) {
+            return String.format("Game %d: legal, %d plies, %s", gameNumber, ply, finalFen);
+        }
+        return String.format("Game %d: illegal at ply %d: %s", gameNumber, ply, reason);
+    }
+}
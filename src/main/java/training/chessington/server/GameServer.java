@@ -0,0 +1,205 @@
+package training.chessington.server;
+
+import training.chessington.model.Board;
+import training.chessington.model.LegalMoveGenerator;
+import training.chessington.model.PlayerColour;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many {@link GameSession}s over a loopback TCP socket. Each connection is one session and is served by a
+ * virtual thread of its own, which simply blocks on the socket between commands, so idle sessions cost little more
+ * than their socket and game.
+ * Memory per session is bounded too: the number of sessions is capped, command lines longer than
+ * {@link #MAX_LINE_LENGTH} are read only as far as the limit and the rest thrown away, and sessions idle for longer
+ * than the idle timeout are closed.
+ */
+public class GameServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7878;
+    public static final int DEFAULT_MAX_SESSIONS = 10_000;
+    public static final int MAX_LINE_LENGTH = 256;
+    private static final int DEFAULT_IDLE_TIMEOUT_MILLIS = 10 * 60 * 1000;
+    private static final int BACKLOG = 1024;
+    private static final int BUFFER_SIZE = 512;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+    private final Thread acceptor;
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final int maxSessions;
+    private final int idleTimeoutMillis;
+    private volatile boolean closed;
+
+    public GameServer(int port, int maxSessions) throws IOException {
+        this(port, maxSessions, DEFAULT_IDLE_TIMEOUT_MILLIS);
+    }
+
+    public GameServer(int port, int maxSessions, int idleTimeoutMillis) throws IOException {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("Session limit must be at least 1, was " + maxSessions);
+        }
+        this.maxSessions = maxSessions;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        // Builds the attack tables now rather than during the first client's first move
+        LegalMoveGenerator.hasLegalMove(Board.forNewGame(), PlayerColour.WHITE);
+        this.acceptor = new Thread(this::acceptConnections, "game-server-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxSessions = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_SESSIONS;
+        try (GameServer server = new GameServer(port, maxSessions)) {
+            System.out.println("Listening on " + server.getPort() + " for up to " + maxSessions + " sessions");
+            server.acceptor.join();
+        }
+    }
+
+    /**
+     * The port the server is listening on, which is useful when it was created with port 0.
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket socket : connections) {
+            closeQuietly(socket);
+        }
+        sessions.shutdownNow();
+        try {
+            sessions.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void acceptConnections() {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (closed) {
+                    return;
+                }
+                continue;
+            }
+            if (sessionCount.incrementAndGet() > maxSessions) {
+                sessionCount.decrementAndGet();
+                reject(socket);
+                continue;
+            }
+            connections.add(socket);
+            try {
+                sessions.execute(() -> serve(socket));
+            } catch (RuntimeException e) {
+                endSession(socket);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(idleTimeoutMillis);
+            InputStream in = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE);
+            GameSession session = new GameSession();
+            byte[] line = new byte[MAX_LINE_LENGTH];
+            int length;
+            while ((length = readLine(in, line)) >= 0) {
+                String reply = length > MAX_LINE_LENGTH
+                        ? "error line longer than " + MAX_LINE_LENGTH + " characters"
+                        : session.execute(new String(line, 0, length, StandardCharsets.US_ASCII));
+                out.write(reply.getBytes(StandardCharsets.US_ASCII));
+                out.write('\n');
+                out.flush();
+                if (session.isClosed()) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            // The client went quiet or went away, or the server is closing, so the session just ends
+        } finally {
+            endSession(socket);
+        }
+    }
+
+    /**
+     * Reads one line into the buffer without its terminator and returns its length, or -1 at the end of the stream.
+     * A line too long for the buffer is skipped to its end and reported as one longer than the buffer.
+     */
+    private static int readLine(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                return length == 0 ? -1 : length;
+            }
+            if (b == '\r') {
+                continue;
+            }
+            if (length > buffer.length) {
+                continue;
+            }
+            if (length == buffer.length) {
+                length++;
+                continue;
+            }
+            buffer[length++] = (byte) b;
+        }
+        return length;
+    }
+
+    private void reject(Socket socket) {
+        try {
+            socket.getOutputStream().write("error server full\n".getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            // The client is turned away either way
+        }
+        closeQuietly(socket);
+    }
+
+    private void endSession(Socket socket) {
+        if (connections.remove(socket)) {
+            sessionCount.decrementAndGet();
+        }
+        closeQuietly(socket);
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package training.chessington.server;
+
+import training.chessington.model.Fen;
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+import training.chessington.model.LegalMoveGenerator;
+import training.chessington.model.Move;
+import training.chessington.model.MoveList;
+import training.chessington.model.PackedMove;
+import training.chessington.pgn.San;
+
+/**
+ * One client's game, driven by single-line text commands. Each command gets exactly one reply line, starting
+ * with "ok" when it succeeded, "illegal" when a move or claim was refused and "error" when the command itself
+ * was not understood:
+ * <pre>
+ * new [fen]     start a new game, from the starting position unless a FEN is given
+ * move &lt;move&gt;   play a move, in long algebraic (e2e4, e7e8q) or SAN (Nf3, O-O)
+ * moves         list the legal moves in long algebraic
+ * fen           show the current position
+ * draw          claim a threefold repetition or fifty-move draw
+ * quit          end the session
+ * </pre>
+ * Moves are validated by {@link Game#makeMove}, and successful moves and claims reply with the new FEN, followed
+ * by the result once the game has ended. A session holds one game and no move list, so its memory stays the same
+ * however long it runs.
+ */
+public class GameSession {
+    private Game game = Game.fromFen(Fen.STARTING_POSITION);
+    private boolean closed;
+
+    public String execute(String line) {
+        String command = line.trim();
+        int space = command.indexOf(' ');
+        String name = space < 0 ? command : command.substring(0, space);
+        String argument = space < 0 ? "" : command.substring(space + 1).trim();
+
+        switch (name) {
+            case "new":
+                return newGame(argument);
+            case "move":
+                return move(argument);
+            case "moves":
+                return moves();
+            case "fen":
+                return "ok " + game.toFen();
+            case "draw":
+                return claimDraw();
+            case "quit":
+                closed = true;
+                return "ok bye";
+            default:
+                return "error unknown command " + name;
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    Game getGame() {
+        return game;
+    }
+
+    private String newGame(String fen) {
+        try {
+            game = Game.fromFen(fen.isEmpty() ? Fen.STARTING_POSITION : fen);
+        } catch (IllegalArgumentException e) {
+            return "error " + e.getMessage();
+        }
+        return position();
+    }
+
+    private String move(String text) {
+        if (text.isEmpty()) {
+            return "error move needs a move";
+        }
+        try {
+            game.makeMove(parse(text));
+        } catch (InvalidMoveException e) {
+            return "illegal " + e.getMessage();
+        }
+        return position();
+    }
+
+    private Move parse(String text) throws InvalidMoveException {
+        if (isAlgebraic(text)) {
+            int move = PackedMove.fromAlgebraic(text, game.getBoard());
+            if (move == PackedMove.NONE) {
+                throw new InvalidMoveException("No legal move " + text);
+            }
+            return PackedMove.toMove(move);
+        }
+        return San.parse(text, game);
+    }
+
+    private String moves() {
+        MoveList moves = new MoveList();
+        if (!game.isEnded()) {
+            LegalMoveGenerator.generateMoves(game.getBoard(), game.getBoard().getSideToMove(), moves);
+        }
+        StringBuilder reply = new StringBuilder("ok");
+        for (int i = 0; i < moves.size(); i++) {
+            reply.append(' ').append(PackedMove.toAlgebraic(moves.get(i)));
+        }
+        return reply.toString();
+    }
+
+    private String claimDraw() {
+        try {
+            game.claimDraw();
+        } catch (InvalidMoveException e) {
+            return "illegal " + e.getMessage();
+        }
+        return position();
+    }
+
+    private String position() {
+        String reply = "ok " + game.toFen();
+        return game.isEnded() ? reply + " result " + game.getResult() : reply;
+    }
+
+    private static boolean isAlgebraic(String text) {
+        int length = text.length();
+        return (length == 4 || length == 5)
+                && isFile(text.charAt(0)) && isRank(text.charAt(1))
+                && isFile(text.charAt(2)) && isRank(text.charAt(3))
+                && (length == 4 || "nbrq".indexOf(text.charAt(4)) >= 0);
+    }
+
+    private static boolean isFile(char c) {
+        return 'a' <= c && c <= 'h';
+    }
+
+    private static boolean isRank(char c) {
+        return '1' <= c && c <= '8';
+    }
+}
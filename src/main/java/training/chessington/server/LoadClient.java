@@ -0,0 +1,131 @@
+package training.chessington.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a running {@link GameServer} from the client side. It opens the given number of sessions at once, and
+ * each plays random legal moves, starting a new game whenever one ends, until it has made its share of moves.
+ * Only the round trip of each move command is timed, so the percentiles printed at the end are the latency of
+ * validating and applying a move as a client sees it.
+ */
+public class LoadClient {
+    private final int port;
+    private final int sessions;
+    private final int movesPerSession;
+
+    public LoadClient(int port, int sessions, int movesPerSession) {
+        this.port = port;
+        this.sessions = sessions;
+        this.movesPerSession = movesPerSession;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : GameServer.DEFAULT_PORT;
+        int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int moves = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        long start = System.nanoTime();
+        long[] latencies = new LoadClient(port, sessions, moves).run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Sessions:  %d%n", sessions);
+        System.out.printf("Moves:     %d in %.2fs (%.0f/s)%n", latencies.length, seconds, latencies.length / seconds);
+        System.out.printf("p50:       %.1fus%n", percentile(latencies, 0.50) / 1e3);
+        System.out.printf("p99:       %.1fus%n", percentile(latencies, 0.99) / 1e3);
+        System.out.printf("p99.9:     %.1fus%n", percentile(latencies, 0.999) / 1e3);
+        System.out.printf("Max:       %.1fus%n", latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e3);
+    }
+
+    /**
+     * Plays every session to completion and returns the latency of each move in nanoseconds, sorted.
+     */
+    public long[] run() throws InterruptedException, ExecutionException {
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        CountDownLatch connected = new CountDownLatch(sessions);
+        List<Future<long[]>> results = new ArrayList<>(sessions);
+        try {
+            for (int i = 0; i < sessions; i++) {
+                long seed = i;
+                results.add(clients.submit(() -> play(seed, connected)));
+            }
+            long[] all = new long[sessions * movesPerSession];
+            int size = 0;
+            for (Future<long[]> result : results) {
+                long[] latencies = result.get();
+                System.arraycopy(latencies, 0, all, size, latencies.length);
+                size += latencies.length;
+            }
+            long[] sorted = Arrays.copyOf(all, size);
+            Arrays.sort(sorted);
+            return sorted;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+    }
+
+    private long[] play(long seed, CountDownLatch connected) throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] latencies = new long[movesPerSession];
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+            OutputStream out = socket.getOutputStream();
+            // Every session is open before any is timed, so the server is measured at its full session count
+            connected.countDown();
+            connected.await(1, TimeUnit.MINUTES);
+
+            for (int made = 0; made < movesPerSession; ) {
+                String[] moves = request(in, out, "moves").split(" ");
+                if (moves.length == 1) {
+                    request(in, out, "new");
+                    continue;
+                }
+                String command = "move " + moves[1 + random.nextInt(moves.length - 1)];
+                long start = System.nanoTime();
+                String reply = request(in, out, command);
+                latencies[made++] = System.nanoTime() - start;
+                if (!reply.startsWith("ok")) {
+                    throw new IllegalStateException("Server refused " + command + ": " + reply);
+                }
+                if (reply.contains(" result ")) {
+                    request(in, out, "new");
+                }
+            }
+            request(in, out, "quit");
+        }
+        return latencies;
+    }
+
+    private static String request(BufferedReader in, OutputStream out, String command) throws IOException {
+        out.write((command + "\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        String reply = in.readLine();
+        if (reply == null) {
+            throw new IOException("Server closed the session after " + command);
+        }
+        return reply;
+    }
+}
@@ -0,0 +1,403 @@
+package training.chessington.uci;
+
+import training.chessington.engine.EngineConfig;
+import training.chessington.engine.ParallelSearch;
+import training.chessington.engine.SearchLimits;
+import training.chessington.engine.SearchResult;
+import training.chessington.model.Board;
+import training.chessington.model.Fen;
+import training.chessington.model.LegalMoveGenerator;
+import training.chessington.model.PackedMove;
+import training.chessington.model.PlayerColour;
+import training.chessington.model.PositionHistory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speaks the Universal Chess Interface over a pair of streams. Commands are read on the calling thread and
+ * searches run on a thread of their own, so the reader is always free to act on stop, which only sets the
+ * search's stop flag and is seen at the next node. The best move is printed by the search thread, and is held
+ * back while pondering or searching infinitely until the GUI sends ponderhit or stop, as the protocol requires.
+ */
+public class UciEngine {
+    private static final String NAME = "Chessington";
+    private static final int MAX_HASH_MEGABYTES = 1024;
+    private static final int MAX_THREADS = 64;
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final long MOVE_OVERHEAD_MILLIS = 30;
+
+    private final BufferedReader in;
+    private final PrintStream out;
+    private final EngineConfig config;
+    private final ExecutorService searchThread = Executors.newSingleThreadExecutor(daemon("uci-search"));
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(daemon("uci-timer"));
+    private final Object bestMoveLock = new Object();
+
+    private ParallelSearch search;
+    private Board board = Board.forNewGame();
+    private long[] earlierKeys = new long[0];
+    private Future<?> currentSearch;
+    private ScheduledFuture<?> scheduledStop;
+    private long ponderBudgetMillis;
+    private boolean holdBestMove;
+
+    public UciEngine(InputStream in, PrintStream out, EngineConfig config) {
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.out = out;
+        this.config = config;
+        this.search = ParallelSearch.fromConfig(config);
+        // Builds the attack tables now, before the GUI's isready, rather than during the first search
+        LegalMoveGenerator.hasLegalMove(board, PlayerColour.WHITE);
+    }
+
+    public static void main(String[] args) throws IOException {
+        new UciEngine(System.in, System.out, EngineConfig.fromSystemProperties()).run();
+    }
+
+    public void run() throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!execute(line)) {
+                return;
+            }
+        }
+        quit();
+    }
+
+    /**
+     * Acts on one command and returns false once the engine should exit.
+     */
+    boolean execute(String line) {
+        String[] tokens = line.trim().split("\\s+");
+        try {
+            return execute(tokens);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            send("info string malformed command: " + line.trim());
+            return true;
+        }
+    }
+
+    private boolean execute(String[] tokens) {
+        switch (tokens[0]) {
+            case "uci":
+                send("id name " + NAME);
+                send("id author Chessington");
+                send("option name Hash type spin default " + EngineConfig.DEFAULT_HASH_MEGABYTES
+                        + " min 1 max " + MAX_HASH_MEGABYTES);
+                send("option name Threads type spin default " + EngineConfig.DEFAULT_THREADS + " min 1 max " + MAX_THREADS);
+                send("uciok");
+                break;
+            case "isready":
+                send("readyok");
+                break;
+            case "ucinewgame":
+                stopSearch();
+                search.getTable().clear();
+                break;
+            case "setoption":
+                setOption(tokens);
+                break;
+            case "position":
+                stopSearch();
+                setPosition(tokens);
+                break;
+            case "go":
+                stopSearch();
+                go(tokens);
+                break;
+            case "ponderhit":
+                ponderHit();
+                break;
+            case "stop":
+                stop();
+                break;
+            case "quit":
+                quit();
+                return false;
+            default:
+                if (!tokens[0].isEmpty()) {
+                    send("info string unknown command " + tokens[0]);
+                }
+        }
+        return true;
+    }
+
+    /**
+     * Waits for the current search, if any, to print its best move.
+     */
+    void awaitSearch() {
+        Future<?> running = currentSearch;
+        if (running == null) {
+            return;
+        }
+        try {
+            running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+        currentSearch = null;
+    }
+
+    /**
+     * A GUI should stop a search before changing the position or options, so one still running is stopped here
+     * rather than left to block the reader.
+     */
+    private void stopSearch() {
+        if (currentSearch != null) {
+            stop();
+            awaitSearch();
+        }
+    }
+
+    private void setOption(String[] tokens) {
+        String name = valueBetween(tokens, "name", "value");
+        String value = valueBetween(tokens, "value", null);
+        if (name == null || value == null) {
+            send("info string setoption needs a name and a value");
+            return;
+        }
+        stopSearch();
+        try {
+            if (name.equalsIgnoreCase("Hash")) {
+                config.setHashMegabytes(Math.min(Integer.parseInt(value), MAX_HASH_MEGABYTES));
+            } else if (name.equalsIgnoreCase("Threads")) {
+                config.setThreads(Math.min(Integer.parseInt(value), MAX_THREADS));
+            } else {
+                send("info string unknown option " + name);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            send("info string invalid value " + value + " for " + name);
+            return;
+        }
+        search.close();
+        search = ParallelSearch.fromConfig(config);
+    }
+
+    private void setPosition(String[] tokens) {
+        int movesIndex = indexOf(tokens, "moves");
+        int end = movesIndex < 0 ? tokens.length : movesIndex;
+        try {
+            if (tokens.length > 1 && tokens[1].equals("startpos")) {
+                board = Board.fromFen(Fen.STARTING_POSITION);
+            } else if (tokens.length > 2 && tokens[1].equals("fen")) {
+                board = Board.fromFen(String.join(" ", Arrays.copyOfRange(tokens, 2, end)));
+            } else {
+                send("info string position needs startpos or fen");
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            send("info string " + e.getMessage());
+            return;
+        }
+
+        // The earlier positions let the search see repetitions, which is why GUIs send the whole game
+        PositionHistory history = new PositionHistory();
+        for (int i = end + 1; i < tokens.length; i++) {
+            int move = PackedMove.fromAlgebraic(tokens[i], board);
+            if (move == PackedMove.NONE) {
+                send("info string illegal move " + tokens[i]);
+                break;
+            }
+            history.push(board.getZobristKey(), board.getHalfmoveClock() == 0);
+            board.makeMove(move);
+        }
+        earlierKeys = board.getHalfmoveClock() == 0 ? new long[0] : history.getKeys();
+    }
+
+    private void go(String[] tokens) {
+        SearchLimits limits = SearchLimits.infinite();
+        boolean infinite = false;
+        boolean ponder = false;
+        long time = -1;
+        long increment = 0;
+        int movesToGo = DEFAULT_MOVES_TO_GO;
+        boolean white = board.getSideToMove() == PlayerColour.WHITE;
+
+        for (int i = 1; i < tokens.length; i++) {
+            switch (tokens[i]) {
+                case "infinite":
+                    infinite = true;
+                    break;
+                case "ponder":
+                    ponder = true;
+                    break;
+                case "depth":
+                    limits.setDepth(Integer.parseInt(tokens[++i]));
+                    break;
+                case "nodes":
+                    limits.setNodes(Long.parseLong(tokens[++i]));
+                    break;
+                case "movetime":
+                    limits.setMoveTimeMillis(Math.max(1, Long.parseLong(tokens[++i]) - MOVE_OVERHEAD_MILLIS));
+                    break;
+                case "wtime":
+                case "btime":
+                    long remaining = Long.parseLong(tokens[++i]);
+                    if (tokens[i - 1].equals(white ? "wtime" : "btime")) {
+                        time = remaining;
+                    }
+                    break;
+                case "winc":
+                case "binc":
+                    long inc = Long.parseLong(tokens[++i]);
+                    if (tokens[i - 1].equals(white ? "winc" : "binc")) {
+                        increment = inc;
+                    }
+                    break;
+                case "movestogo":
+                    movesToGo = Math.max(1, Integer.parseInt(tokens[++i]));
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        if (time >= 0 && limits.getMoveTimeMillis() == Long.MAX_VALUE) {
+            long budget = time / movesToGo + increment * 3 / 4;
+            limits.setMoveTimeMillis(Math.max(1, Math.min(budget, time - MOVE_OVERHEAD_MILLIS)));
+        }
+        ponderBudgetMillis = limits.getMoveTimeMillis();
+        if (ponder) {
+            // The clock only starts at ponderhit, which schedules a stop instead
+            limits.setMoveTimeMillis(Long.MAX_VALUE);
+        }
+
+        synchronized (bestMoveLock) {
+            holdBestMove = infinite || ponder;
+        }
+        cancelScheduledStop();
+        Board position = board;
+        long[] positionKeys = earlierKeys;
+        SearchLimits searchLimits = limits;
+        ParallelSearch running = search;
+        running.prepare();
+        currentSearch = searchThread.submit(() -> reportBestMove(running.run(position, positionKeys, searchLimits)));
+    }
+
+    private void reportBestMove(SearchResult result) {
+        synchronized (bestMoveLock) {
+            while (holdBestMove) {
+                try {
+                    bestMoveLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        if (result.getBestPackedMove() == PackedMove.NONE) {
+            send("bestmove 0000");
+            return;
+        }
+        int[] pv = result.getPrincipalVariation();
+        StringBuilder info = new StringBuilder("info depth ").append(result.getDepth());
+        if (result.isMate()) {
+            info.append(" score mate ").append(result.getMateIn());
+        } else {
+            info.append(" score cp ").append(result.getScore());
+        }
+        info.append(" nodes ").append(result.getNodes())
+                .append(" nps ").append(result.getNodesPerSecond())
+                .append(" time ").append(result.getElapsedMillis())
+                .append(" pv");
+        for (int move : pv) {
+            info.append(' ').append(PackedMove.toAlgebraic(move));
+        }
+        send(info.toString());
+
+        String bestMove = "bestmove " + PackedMove.toAlgebraic(result.getBestPackedMove());
+        send(pv.length > 1 ? bestMove + " ponder " + PackedMove.toAlgebraic(pv[1]) : bestMove);
+    }
+
+    private void ponderHit() {
+        if (ponderBudgetMillis != Long.MAX_VALUE) {
+            scheduledStop = timer.schedule(search::stop, ponderBudgetMillis, TimeUnit.MILLISECONDS);
+        }
+        release();
+    }
+
+    private void stop() {
+        search.stop();
+        release();
+    }
+
+    private void cancelScheduledStop() {
+        if (scheduledStop != null) {
+            scheduledStop.cancel(false);
+            scheduledStop = null;
+        }
+    }
+
+    private void release() {
+        synchronized (bestMoveLock) {
+            holdBestMove = false;
+            bestMoveLock.notifyAll();
+        }
+    }
+
+    private void quit() {
+        cancelScheduledStop();
+        stop();
+        awaitSearch();
+        search.close();
+        searchThread.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    private void send(String message) {
+        synchronized (out) {
+            out.println(message);
+            out.flush();
+        }
+    }
+
+    private static int indexOf(String[] tokens, String token) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equals(token)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The words after one keyword and before another, or to the end of the command if the second is null.
+     */
+    private static String valueBetween(String[] tokens, String start, String end) {
+        int from = indexOf(tokens, start);
+        if (from < 0) {
+            return null;
+        }
+        int to = end == null ? tokens.length : indexOf(tokens, end);
+        if (to < 0) {
+            to = tokens.length;
+        }
+        return from + 1 < to ? String.join(" ", Arrays.copyOfRange(tokens, from + 1, to)) : null;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -2,14 +2,19 @@ package training.chessington.view;
 
 import javafx.scene.Parent;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.ChoiceDialog;
 import javafx.scene.layout.GridPane;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import training.chessington.model.Game;
+import training.chessington.model.GameResult;
 import training.chessington.model.InvalidMoveException;
 import training.chessington.model.Move;
+import training.chessington.model.pieces.Piece;
 
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
 
 public class ChessApp extends Parent {
@@ -52,10 +57,18 @@ public class ChessApp extends Parent {
     }
 
     private void onMoveMade(Square moveTo) {
-        try {
-            game.makeMove(new Move(selectedSquare.getCoordinates(), moveTo.getCoordinates()));
-        } catch (InvalidMoveException e) {
-            LOGGER.error("Invalid move attempted", e);
+        Move move = Move.of(selectedSquare.getCoordinates(), moveTo.getCoordinates());
+        if (game.getAllowedMoves(move.getFrom()).contains(move.withPromotion(Piece.PieceType.QUEEN))) {
+            Optional<Piece.PieceType> promotion = choosePromotion();
+            move = promotion.isPresent() ? move.withPromotion(promotion.get()) : null;
+        }
+
+        if (move != null) {
+            try {
+                game.makeMove(move);
+            } catch (InvalidMoveException e) {
+                LOGGER.error("Invalid move attempted", e);
+            }
         }
         redrawPieces();
         resetHighlighting();
@@ -63,17 +76,45 @@ public class ChessApp extends Parent {
         selectedSquare = null;
 
         if (game.isEnded()) {
-            showResult(game.getResult());
+            showResult();
+        } else if (game.getClaimableDraw() != null) {
+            offerDraw(game.getClaimableDraw());
         }
     }
 
-    private void showResult(String result) {
+    private Optional<Piece.PieceType> choosePromotion() {
+        ChoiceDialog<Piece.PieceType> dialog = new ChoiceDialog<>(Piece.PieceType.QUEEN,
+                Piece.PieceType.QUEEN, Piece.PieceType.ROOK, Piece.PieceType.BISHOP, Piece.PieceType.KNIGHT);
+        dialog.setTitle("Promotion");
+        dialog.setHeaderText("Choose a piece to promote to");
+        return dialog.showAndWait();
+    }
+
+    private void showResult() {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Game over!");
-        alert.setHeaderText(result);
+        if (game.getWinner() == null) {
+            alert.setHeaderText(game.getResult().getDescription());
+        } else {
+            alert.setHeaderText(String.format("%s - %s wins", game.getResult().getDescription(), game.getWinner()));
+        }
         alert.show();
     }
 
+    private void offerDraw(GameResult draw) {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION, "Claim a draw?", ButtonType.YES, ButtonType.NO);
+        alert.setTitle("Draw available");
+        alert.setHeaderText(draw.getDescription());
+        if (alert.showAndWait().filter(ButtonType.YES::equals).isPresent()) {
+            try {
+                game.claimDraw();
+            } catch (InvalidMoveException e) {
+                LOGGER.error("Draw claim rejected", e);
+            }
+            showResult();
+        }
+    }
+
     private void onNewSquareSelected(Square square) {
         validMoveSquares.clear();
         resetHighlighting();
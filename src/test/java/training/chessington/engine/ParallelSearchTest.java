@@ -0,0 +1,85 @@
+package training.chessington.engine;
+
+import org.junit.Test;
+import training.chessington.model.Board;
+import training.chessington.model.Coordinates;
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+import training.chessington.model.Move;
+import training.chessington.model.PlayerColour;
+import training.chessington.model.pieces.King;
+import training.chessington.model.pieces.Rook;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ParallelSearchTest {
+    @Test
+    public void helpersAgreeOnMateInOne() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(0, 6), new King(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(2, 6), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(7, 0), new Rook(PlayerColour.WHITE));
+
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(1), 4)) {
+            // Act
+            SearchResult result = search.search(board, SearchLimits.depth(4));
+
+            // Assert
+            assertThat(result.getBestMove()).isEqualTo(new Move(new Coordinates(7, 0), new Coordinates(0, 0)));
+            assertThat(result.getMateIn()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void searchesCopiesAndLeavesBoardUntouched() {
+        // Arrange
+        Board board = Board.forNewGame();
+        long key = board.getZobristKey();
+
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(4), 3)) {
+            // Act
+            SearchResult result = search.search(board, SearchLimits.moveTime(300));
+
+            // Assert
+            assertThat(result.getBestMove()).isNotNull();
+            assertThat(result.getDepth()).isGreaterThanOrEqualTo(1);
+            assertThat(board.getZobristKey()).isEqualTo(key);
+        }
+    }
+
+    @Test
+    public void canSearchRepeatedly() {
+        // Arrange
+        Board board = Board.forNewGame();
+
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(1), 2)) {
+            // Act
+            SearchResult first = search.search(board, SearchLimits.depth(3));
+            SearchResult second = search.search(board, SearchLimits.depth(3));
+
+            // Assert
+            assertThat(first.getBestMove()).isNotNull();
+            assertThat(second.getDepth()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void helpersSeeRepetitionsFromTheGame() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("7k/8/8/3q4/8/8/8/K1N5 w - - 10 40");
+        game.makeMove(new Move(new Coordinates(7, 2), new Coordinates(6, 4)));
+        game.makeMove(new Move(new Coordinates(3, 3), new Coordinates(2, 3)));
+        game.makeMove(new Move(new Coordinates(6, 4), new Coordinates(7, 2)));
+        game.makeMove(new Move(new Coordinates(2, 3), new Coordinates(3, 3)));
+
+        try (ParallelSearch search = new ParallelSearch(new TranspositionTable(1), 3)) {
+            // Act
+            SearchResult result = search.search(game, SearchLimits.depth(4));
+
+            // Assert
+            assertThat(result.getBestMove()).isEqualTo(new Move(new Coordinates(7, 2), new Coordinates(6, 4)));
+            assertThat(result.getScore()).isEqualTo(0);
+        }
+    }
+}
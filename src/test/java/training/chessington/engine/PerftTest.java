@@ -0,0 +1,142 @@
+package training.chessington.engine;
+
+import org.junit.Test;
+import training.chessington.model.Board;
+import training.chessington.model.PackedMove;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PerftTest {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    public void startingPosition() {
+        assertPerft(Board.forNewGame(), 1, 20);
+        assertPerft(Board.forNewGame(), 2, 400);
+        assertPerft(Board.forNewGame(), 3, 8902);
+        assertPerft(Board.forNewGame(), 4, 197281);
+    }
+
+    @Test
+    public void kiwipete() {
+        assertPerft(Board.fromFen(KIWIPETE), 1, 48);
+        assertPerft(Board.fromFen(KIWIPETE), 2, 2039);
+        assertPerft(Board.fromFen(KIWIPETE), 3, 97862);
+    }
+
+    @Test
+    public void rookAndPawnEndgame() {
+        assertPerft(Board.fromFen("8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1"), 5, 674624);
+    }
+
+    @Test
+    public void shortCastlingGivesCheck() {
+        assertPerft(Board.fromFen("5k2/8/8/8/8/8/8/4K2R w K - 0 1"), 6, 661072);
+    }
+
+    @Test
+    public void longCastlingGivesCheck() {
+        assertPerft(Board.fromFen("3k4/8/8/8/8/8/8/R3K3 w Q - 0 1"), 6, 803711);
+    }
+
+    @Test
+    public void castlingThroughAttackedSquares() {
+        assertPerft(Board.fromFen("r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1"), 4, 1274206);
+    }
+
+    @Test
+    public void castlingOutOfCheck() {
+        assertPerft(Board.fromFen("r3k2r/8/3Q4/8/8/5q2/8/R3K2R b KQkq - 0 1"), 4, 1720476);
+    }
+
+    @Test
+    public void discoveredCheck() {
+        assertPerft(Board.fromFen("8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1"), 4, 23527);
+    }
+
+    @Test
+    public void promotionOutOfCheck() {
+        assertPerft(Board.fromFen("3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1"), 6, 1134888);
+    }
+
+    @Test
+    public void enPassantCaptureChecksOpponent() {
+        assertPerft(Board.fromFen("8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1"), 6, 1440467);
+    }
+
+    @Test
+    public void promoteToGiveCheck() {
+        assertPerft(Board.fromFen("4k3/1P6/8/8/8/8/K7/8 w - - 0 1"), 6, 217342);
+    }
+
+    @Test
+    public void underpromoteToCheck() {
+        assertPerft(Board.fromFen("8/P1k5/K7/8/8/8/8/8 w - - 0 1"), 6, 92683);
+    }
+
+    @Test
+    public void selfStalemate() {
+        assertPerft(Board.fromFen("K1k5/8/P7/8/8/8/8/8 w - - 0 1"), 6, 2217);
+    }
+
+    @Test
+    public void stalemateAndCheckmate() {
+        assertPerft(Board.fromFen("8/k1P5/8/1K6/8/8/8/8 w - - 0 1"), 7, 567584);
+    }
+
+    @Test
+    public void pinnedPromotionSquares() {
+        assertPerft(Board.fromFen("8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1"), 5, 1004658);
+    }
+
+    @Test
+    public void promotionsInPosition4() {
+        assertPerft(Board.fromFen("r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"), 4, 422333);
+    }
+
+    @Test
+    public void divideSumsToPerft() {
+        // Arrange
+        Perft perft = new Perft(Board.fromFen(KIWIPETE), 2);
+
+        // Act
+        Map<String, Long> counts = perft.divide(2);
+
+        // Assert
+        assertThat(counts).hasSize(48);
+        assertThat(counts).containsEntry("e1g1", 43L);
+        assertThat(counts.values().stream().mapToLong(Long::longValue).sum()).isEqualTo(2039);
+    }
+
+    @Test
+    public void perftLeavesBoardAsItWasFound() {
+        // Arrange
+        Board board = Board.fromFen(KIWIPETE);
+        long key = board.getZobristKey();
+
+        // Act
+        new Perft(board, 3).perft(3);
+
+        // Assert
+        assertThat(board.getZobristKey()).isEqualTo(key);
+        assertThat(board.getLastPackedMove()).isEqualTo(PackedMove.NONE);
+    }
+
+    @Test
+    public void rejectsDepthsOutsideTheMaximum() {
+        Perft perft = new Perft(Board.forNewGame(), 2);
+
+        assertThatThrownBy(() -> perft.perft(3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("between 0 and 2");
+        assertThatThrownBy(() -> perft.perft(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> perft.divide(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> perft.divide(3)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertPerft(Board board, int depth, long expectedNodes) {
+        assertThat(new Perft(board, depth).perft(depth)).as("perft(%d)", depth).isEqualTo(expectedNodes);
+    }
+}
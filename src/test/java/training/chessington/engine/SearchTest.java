@@ -0,0 +1,162 @@
+package training.chessington.engine;
+
+import org.junit.Test;
+import training.chessington.model.Board;
+import training.chessington.model.Coordinates;
+import training.chessington.model.Fen;
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+import training.chessington.model.Move;
+import training.chessington.model.PlayerColour;
+import training.chessington.model.pieces.King;
+import training.chessington.model.pieces.Knight;
+import training.chessington.model.pieces.Pawn;
+import training.chessington.model.pieces.Piece;
+import training.chessington.model.pieces.Queen;
+import training.chessington.model.pieces.Rook;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SearchTest {
+    @Test
+    public void findsMateInOne() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(0, 6), new King(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(2, 6), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(7, 0), new Rook(PlayerColour.WHITE));
+        Search search = new Search(new TranspositionTable(1));
+
+        // Act
+        SearchResult result = search.search(board, SearchLimits.depth(3));
+
+        // Assert
+        assertThat(result.getBestMove()).isEqualTo(new Move(new Coordinates(7, 0), new Coordinates(0, 0)));
+        assertThat(result.isMate()).isTrue();
+        assertThat(result.getMateIn()).isEqualTo(1);
+    }
+
+    @Test
+    public void capturesHangingQueen() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(7, 4), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(0, 4), new King(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(4, 3), new Knight(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(2, 4), new Queen(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(6, 0), new Pawn(PlayerColour.WHITE));
+        Search search = new Search(new TranspositionTable(1));
+
+        // Act
+        SearchResult result = search.search(board, SearchLimits.depth(4));
+
+        // Assert
+        assertThat(result.getBestMove()).isEqualTo(new Move(new Coordinates(4, 3), new Coordinates(2, 4)));
+        assertThat(result.getScore()).isGreaterThan(Evaluation.pieceValue(Piece.PieceType.KNIGHT) - 50);
+    }
+
+    @Test
+    public void searchLeavesBoardAsItWasFound() {
+        // Arrange
+        Board board = Board.forNewGame();
+        long key = board.getZobristKey();
+        Search search = new Search(new TranspositionTable(1));
+
+        // Act
+        SearchResult result = search.search(board, SearchLimits.depth(3));
+
+        // Assert
+        assertThat(result.getBestMove()).isNotNull();
+        assertThat(result.getPrincipalVariation()).isNotEmpty();
+        assertThat(board.getZobristKey()).isEqualTo(key);
+        assertThat(board.getSideToMove()).isEqualTo(PlayerColour.WHITE);
+    }
+
+    @Test
+    public void respectsNodeLimit() {
+        // Arrange
+        Board board = Board.forNewGame();
+        Search search = new Search(new TranspositionTable(1));
+
+        // Act
+        SearchResult result = search.search(board, SearchLimits.nodes(5000));
+
+        // Assert
+        assertThat(result.getBestMove()).isNotNull();
+        assertThat(search.getNodes()).isLessThanOrEqualTo(5000);
+    }
+
+    @Test
+    public void respectsMoveTime() {
+        // Arrange
+        Board board = Board.forNewGame();
+        Search search = new Search(new TranspositionTable(1));
+        long start = System.currentTimeMillis();
+
+        // Act
+        SearchResult result = search.search(board, SearchLimits.moveTime(200));
+
+        // Assert
+        assertThat(result.getBestMove()).isNotNull();
+        assertThat(System.currentTimeMillis() - start).isLessThan(1000);
+    }
+
+    @Test
+    public void repeatsPositionsFromTheGameToSaveALostPosition() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("7k/8/8/3q4/8/8/8/K1N5 w - - 10 40");
+        game.makeMove(new Move(new Coordinates(7, 2), new Coordinates(6, 4)));
+        game.makeMove(new Move(new Coordinates(3, 3), new Coordinates(2, 3)));
+        game.makeMove(new Move(new Coordinates(6, 4), new Coordinates(7, 2)));
+        game.makeMove(new Move(new Coordinates(2, 3), new Coordinates(3, 3)));
+        Search search = new Search(new TranspositionTable(1));
+
+        // Act
+        SearchResult result = search.search(game, SearchLimits.depth(3));
+
+        // Assert
+        assertThat(result.getBestMove()).isEqualTo(new Move(new Coordinates(7, 2), new Coordinates(6, 4)));
+        assertThat(result.getScore()).isEqualTo(0);
+    }
+
+    @Test
+    public void scoresTheFiftyMoveRuleAsADraw() {
+        // Arrange
+        Board board = Fen.parse("7k/8/8/3q4/8/8/8/K1N5 w - - 99 80");
+        Search search = new Search(new TranspositionTable(1));
+
+        // Act
+        SearchResult result = search.search(board, SearchLimits.depth(3));
+
+        // Assert
+        assertThat(result.getScore()).isEqualTo(0);
+    }
+
+    @Test
+    public void findsMateOnTheHundredthHalfmove() {
+        // Arrange
+        Board board = Fen.parse("6k1/8/6K1/8/8/8/8/R7 w - - 99 80");
+        Search search = new Search(new TranspositionTable(1));
+
+        // Act
+        SearchResult result = search.search(board, SearchLimits.depth(3));
+
+        // Assert
+        assertThat(result.getBestMove()).isEqualTo(new Move(new Coordinates(7, 0), new Coordinates(0, 0)));
+        assertThat(result.getMateIn()).isEqualTo(1);
+    }
+
+    @Test
+    public void scoresInsufficientMaterialAsADraw() {
+        // Arrange
+        Board board = Fen.parse("7k/1r6/8/8/4B3/8/8/K7 w - - 0 1");
+        Search search = new Search(new TranspositionTable(1));
+
+        // Act
+        SearchResult result = search.search(board, SearchLimits.depth(3));
+
+        // Assert
+        assertThat(result.getBestMove()).isEqualTo(new Move(new Coordinates(4, 4), new Coordinates(1, 1)));
+        assertThat(result.getScore()).isEqualTo(0);
+    }
+}
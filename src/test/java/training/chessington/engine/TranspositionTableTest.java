@@ -0,0 +1,106 @@
+package training.chessington.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TranspositionTableTest {
+    @Test
+    public void storedEntryCanBeProbed() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(1);
+        long key = 0x123456789ABCDEFL;
+
+        // Act
+        table.store(key, 1234, -250, 7, TranspositionTable.BOUND_LOWER);
+        long data = table.probe(key);
+
+        // Assert
+        assertThat(data).isNotEqualTo(TranspositionTable.NO_ENTRY);
+        assertThat(TranspositionTable.getMove(data)).isEqualTo(1234);
+        assertThat(TranspositionTable.getScore(data)).isEqualTo(-250);
+        assertThat(TranspositionTable.getDepth(data)).isEqualTo(7);
+        assertThat(TranspositionTable.getBound(data)).isEqualTo(TranspositionTable.BOUND_LOWER);
+    }
+
+    @Test
+    public void otherKeyIsAMiss() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(1);
+        table.store(42L, 1, 0, 1, TranspositionTable.BOUND_EXACT);
+
+        // Act
+        long data = table.probe(43L);
+
+        // Assert
+        assertThat(data).isEqualTo(TranspositionTable.NO_ENTRY);
+    }
+
+    @Test
+    public void shallowerEntryDoesNotReplaceDeeperOneFromSameSearch() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(1);
+        long deepKey = 5L;
+        long shallowKey = deepKey + ((long) table.capacity() << 32) + table.capacity();
+        table.store(deepKey, 1, 10, 8, TranspositionTable.BOUND_EXACT);
+
+        // Act
+        table.store(shallowKey, 2, 20, 3, TranspositionTable.BOUND_EXACT);
+
+        // Assert
+        assertThat(table.probe(shallowKey)).isEqualTo(TranspositionTable.NO_ENTRY);
+        assertThat(TranspositionTable.getDepth(table.probe(deepKey))).isEqualTo(8);
+    }
+
+    @Test
+    public void entriesFromOldSearchesAreReplaced() {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(1);
+        long deepKey = 5L;
+        long shallowKey = deepKey + ((long) table.capacity() << 32) + table.capacity();
+        table.store(deepKey, 1, 10, 8, TranspositionTable.BOUND_EXACT);
+        table.newSearch();
+
+        // Act
+        table.store(shallowKey, 2, 20, 3, TranspositionTable.BOUND_EXACT);
+
+        // Assert
+        assertThat(TranspositionTable.getMove(table.probe(shallowKey))).isEqualTo(2);
+    }
+
+    @Test
+    public void concurrentWritersNeverProduceMismatchedEntries() throws InterruptedException {
+        // Arrange
+        TranspositionTable table = new TranspositionTable(1);
+        AtomicBoolean mismatch = new AtomicBoolean();
+        Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++) {
+            int seed = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200000; i++) {
+                    long key = (i % 512) * 0x9E3779B97F4A7C15L;
+                    int score = (int) (key & 0x3FFF);
+                    table.store(key, i & 0xFFFF, score, (i + seed) % 20, TranspositionTable.BOUND_EXACT);
+                    long data = table.probe(key);
+                    if (data != TranspositionTable.NO_ENTRY && TranspositionTable.getScore(data) != score) {
+                        mismatch.set(true);
+                    }
+                }
+            });
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Assert
+        assertThat(mismatch.get()).isFalse();
+    }
+}
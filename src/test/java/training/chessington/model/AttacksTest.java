@@ -0,0 +1,103 @@
+package training.chessington.model;
+
+import org.junit.Test;
+import training.chessington.model.pieces.Bishop;
+import training.chessington.model.pieces.King;
+import training.chessington.model.pieces.Knight;
+import training.chessington.model.pieces.Pawn;
+import training.chessington.model.pieces.Rook;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AttacksTest {
+    @Test
+    public void whitePawnsAttackDiagonallyUpTheBoard() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(4, 4), new Pawn(PlayerColour.WHITE));
+
+        // Act
+        boolean ahead = Attacks.isAttacked(board, Bitboards.square(3, 3), PlayerColour.WHITE);
+        boolean behind = Attacks.isAttacked(board, Bitboards.square(5, 3), PlayerColour.WHITE);
+        boolean pushSquare = Attacks.isAttacked(board, Bitboards.square(3, 4), PlayerColour.WHITE);
+
+        // Assert
+        assertThat(ahead).isTrue();
+        assertThat(behind).isFalse();
+        assertThat(pushSquare).isFalse();
+    }
+
+    @Test
+    public void blackPawnsAttackDiagonallyDownTheBoard() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(3, 0), new Pawn(PlayerColour.BLACK));
+
+        // Act
+        long attackers = Attacks.attackers(board, Bitboards.square(4, 1), PlayerColour.BLACK);
+
+        // Assert
+        assertThat(attackers).isEqualTo(Bitboards.bit(Bitboards.square(3, 0)));
+    }
+
+    @Test
+    public void knightAttacksDoNotWrapAroundTheBoard() {
+        // Act
+        long attacks = Attacks.knight(Bitboards.square(4, 0));
+
+        // Assert
+        assertThat(Long.bitCount(attacks)).isEqualTo(4);
+        assertThat(attacks & Bitboards.bit(Bitboards.square(3, 7))).isZero();
+    }
+
+    @Test
+    public void kingAttacksAdjacentSquares() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(0, 0), new King(PlayerColour.BLACK));
+
+        // Act / Assert
+        assertThat(Attacks.isAttacked(board, Bitboards.square(1, 1), PlayerColour.BLACK)).isTrue();
+        assertThat(Attacks.isAttacked(board, Bitboards.square(2, 2), PlayerColour.BLACK)).isFalse();
+    }
+
+    @Test
+    public void slidersAreStoppedByTheFirstBlocker() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(7, 0), new Rook(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(7, 3), new Knight(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(0, 0), new Bishop(PlayerColour.WHITE));
+
+        // Act / Assert
+        assertThat(Attacks.isAttacked(board, Bitboards.square(7, 3), PlayerColour.WHITE)).isTrue();
+        assertThat(Attacks.isAttacked(board, Bitboards.square(7, 4), PlayerColour.WHITE)).isFalse();
+        assertThat(Attacks.isAttacked(board, Bitboards.square(7, 7), PlayerColour.WHITE)).isTrue();
+    }
+
+    @Test
+    public void attackersCanUseAHypotheticalOccupancy() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(7, 0), new Rook(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(7, 3), new Knight(PlayerColour.BLACK));
+        long withoutKnight = board.getOccupied() & ~Bitboards.bit(Bitboards.square(7, 3));
+
+        // Act
+        long attackers = Attacks.attackers(board, Bitboards.square(7, 6), PlayerColour.WHITE, withoutKnight);
+
+        // Assert
+        assertThat(attackers).isEqualTo(Bitboards.bit(Bitboards.square(7, 0)));
+    }
+
+    @Test
+    public void betweenCoversOnlyTheSquaresInside() {
+        // Act
+        long diagonal = Attacks.between(Bitboards.square(0, 0), Bitboards.square(3, 3));
+        long unaligned = Attacks.between(Bitboards.square(0, 0), Bitboards.square(1, 2));
+
+        // Assert
+        assertThat(diagonal).isEqualTo(Bitboards.bit(Bitboards.square(1, 1)) | Bitboards.bit(Bitboards.square(2, 2)));
+        assertThat(unaligned).isZero();
+    }
+}
@@ -2,10 +2,14 @@ package training.chessington.model;
 
 import org.junit.Test;
 import training.chessington.model.pieces.King;
+import training.chessington.model.pieces.Knight;
+import training.chessington.model.pieces.Pawn;
 import training.chessington.model.pieces.Piece;
+import training.chessington.model.pieces.Pieces;
 import training.chessington.model.pieces.Rook;
 
 import java.util.List;
+import java.util.Optional;
 
 import static training.chessington.model.pieces.Piece.PieceType.PAWN;
 import static training.chessington.model.pieces.PieceAssert.*;
@@ -51,4 +55,254 @@ public class BoardTest {
         assertThat(board.get(from)).isNull();
         assertThat(board.get(to)).isColour(PlayerColour.WHITE).isPiece(PAWN);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void bitboardsTrackNewGamePieces() {
+        // Arrange
+        Board board = Board.forNewGame();
+
+        // Act
+        long whitePawns = board.getBitboard(PAWN, PlayerColour.WHITE);
+        long blackPieces = board.getOccupied(PlayerColour.BLACK);
+
+        // Assert
+        assertThat(whitePawns).isEqualTo(0x00FF000000000000L);
+        assertThat(blackPieces).isEqualTo(0x000000000000FFFFL);
+        assertThat(board.getOccupied()).isEqualTo(0xFFFF00000000FFFFL);
+    }
+
+    @Test
+    public void bitboardsFollowCaptures() {
+        // Arrange
+        Board board = Board.empty();
+        Coordinates rookCoords = new Coordinates(4, 4);
+        board.placePiece(rookCoords, new Rook(PlayerColour.WHITE));
+
+        Coordinates enemyCoords = new Coordinates(4, 7);
+        board.placePiece(enemyCoords, new Rook(PlayerColour.BLACK));
+
+        // Act
+        board.move(rookCoords, enemyCoords);
+
+        // Assert
+        assertThat(board.getOccupied(PlayerColour.BLACK)).isZero();
+        assertThat(board.getBitboard(Piece.PieceType.ROOK, PlayerColour.WHITE))
+                .isEqualTo(Bitboards.bit(Bitboards.square(enemyCoords)));
+        assertThat(board.isEmpty(rookCoords)).isTrue();
+    }
+
+    @Test
+    public void canFindKing() {
+        // Arrange
+        Board board = Board.empty();
+        Coordinates kingCoords = new Coordinates(2, 5);
+        board.placePiece(kingCoords, new King(PlayerColour.BLACK));
+
+        // Act
+        Optional<Coordinates> blackKing = board.findAny(Piece.PieceType.KING, PlayerColour.BLACK);
+        Optional<Coordinates> whiteKing = board.findAny(Piece.PieceType.KING, PlayerColour.WHITE);
+
+        // Assert
+        assertThat(blackKing).contains(kingCoords);
+        assertThat(whiteKing).isEmpty();
+    }
+
+    @Test
+    public void tracksKingSquareThroughCastlingAndUnmake() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(7, 4), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(7, 7), new Rook(PlayerColour.WHITE));
+        int castle = PackedMove.of(Bitboards.square(7, 4), Bitboards.square(7, 6), PackedMove.CASTLE);
+
+        // Act
+        board.makeMove(castle);
+        int afterCastling = board.getKingSquare(PlayerColour.WHITE);
+        board.unmakeMove();
+
+        // Assert
+        assertThat(afterCastling).isEqualTo(Bitboards.square(7, 6));
+        assertThat(board.getKingSquare(PlayerColour.WHITE)).isEqualTo(Bitboards.square(7, 4));
+        assertThat(board.getKingSquare(PlayerColour.BLACK)).isEqualTo(Bitboards.NO_SQUARE);
+    }
+
+    @Test
+    public void capturedKingIsNoLongerTracked() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(3, 3), new King(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(3, 0), new Rook(PlayerColour.WHITE));
+
+        // Act
+        board.move(new Coordinates(3, 0), new Coordinates(3, 3));
+
+        // Assert
+        assertThat(board.getKingSquare(PlayerColour.BLACK)).isEqualTo(Bitboards.NO_SQUARE);
+    }
+
+    @Test
+    public void unmakeMoveRestoresCapturedPiece() {
+        // Arrange
+        Board board = Board.empty();
+        Coordinates rookCoords = new Coordinates(4, 4);
+        Piece rook = new Rook(PlayerColour.WHITE);
+        board.placePiece(rookCoords, rook);
+
+        Coordinates enemyCoords = new Coordinates(4, 7);
+        Piece enemy = new Rook(PlayerColour.BLACK);
+        board.placePiece(enemyCoords, enemy);
+
+        int move = PackedMove.fromMove(new Move(rookCoords, enemyCoords), board);
+
+        // Act
+        board.makeMove(move);
+        board.unmakeMove();
+
+        // Assert
+        assertThat(board.get(rookCoords)).isSameAs(rook);
+        assertThat(board.get(enemyCoords)).isSameAs(enemy);
+        assertThat(board.getOccupied(PlayerColour.BLACK)).isEqualTo(Bitboards.bit(Bitboards.square(enemyCoords)));
+        assertThat(board.hasLastMove()).isFalse();
+    }
+
+    @Test
+    public void unmakeMoveRestoresCastling() {
+        // Arrange
+        Board board = Board.empty();
+        Coordinates kingCoords = new Coordinates(7, 4);
+        Piece king = new King(PlayerColour.WHITE);
+        board.placePiece(kingCoords, king);
+
+        Coordinates rookCoords = new Coordinates(7, 0);
+        Piece rook = new Rook(PlayerColour.WHITE);
+        board.placePiece(rookCoords, rook);
+
+        int castle = PackedMove.fromMove(new Move(kingCoords, kingCoords.plus(0, -2)), board);
+
+        // Act
+        board.makeMove(castle);
+        Piece castledRook = board.get(kingCoords.plus(0, -1));
+        board.unmakeMove();
+
+        // Assert
+        assertThat(castledRook).isSameAs(rook);
+        assertThat(board.get(kingCoords)).isSameAs(king);
+        assertThat(board.get(rookCoords)).isSameAs(rook);
+        assertThat(board.isEmpty(kingCoords.plus(0, -1))).isTrue();
+        assertThat(king.getAllowedMoves(kingCoords, board)).contains(new Move(kingCoords, kingCoords.plus(0, -2)));
+    }
+
+    @Test
+    public void capturingARookRemovesItsCastlingRight() {
+        // Arrange
+        Board board = Board.forNewGame();
+        board.placePiece(new Coordinates(1, 6), null);
+        board.placePiece(new Coordinates(2, 6), new Knight(PlayerColour.WHITE));
+        int capture = PackedMove.of(Bitboards.square(2, 6), Bitboards.square(0, 7), PackedMove.CAPTURE);
+
+        // Act
+        board.makeMove(capture);
+        int afterCapture = board.getCastlingRights();
+        board.unmakeMove();
+
+        // Assert
+        assertThat(afterCapture).isEqualTo(Zobrist.WHITE_KINGSIDE | Zobrist.WHITE_QUEENSIDE | Zobrist.BLACK_QUEENSIDE);
+        assertThat(board.getCastlingRights()).isEqualTo(Board.forNewGame().getCastlingRights());
+        assertThat(board.getZobristKey()).isEqualTo(board.computeZobristKey());
+    }
+
+    @Test
+    public void piecesAreSharedBetweenBoards() {
+        // Arrange
+        Board board = Board.forNewGame();
+
+        // Act
+        Board copy = board.copy();
+
+        // Assert
+        assertThat(copy.get(new Coordinates(7, 4))).isSameAs(board.get(new Coordinates(7, 4)));
+        assertThat(board.get(new Coordinates(6, 0))).isSameAs(Pieces.of(PAWN, PlayerColour.WHITE));
+    }
+
+    @Test
+    public void unmakeMoveRestoresEnPassantCapture() {
+        // Arrange
+        Board board = Board.empty();
+        Coordinates pawnCoords = new Coordinates(3, 4);
+        board.placePiece(pawnCoords, new Pawn(PlayerColour.WHITE));
+
+        Coordinates enemyCoords = new Coordinates(1, 3);
+        board.placePiece(enemyCoords, new Pawn(PlayerColour.BLACK));
+        Coordinates newEnemyCoords = enemyCoords.plus(2, 0);
+        board.move(enemyCoords, newEnemyCoords);
+
+        int enPassant = PackedMove.fromMove(new Move(pawnCoords, newEnemyCoords), board);
+
+        // Act
+        board.makeMove(enPassant);
+
+        // Assert
+        assertThat(board.isEmpty(newEnemyCoords)).isTrue();
+        assertThat(board.get(new Coordinates(2, 3))).isColour(PlayerColour.WHITE).isPiece(PAWN);
+
+        board.unmakeMove();
+        assertThat(board.get(newEnemyCoords)).isColour(PlayerColour.BLACK).isPiece(PAWN);
+        assertThat(board.get(pawnCoords)).isColour(PlayerColour.WHITE).isPiece(PAWN);
+        assertThat(board.isEmpty(new Coordinates(2, 3))).isTrue();
+        assertThat(board.getLastMove()).isEqualTo(new Move(enemyCoords, newEnemyCoords));
+    }
+
+    @Test
+    public void copyIsIndependentOfOriginal() {
+        // Arrange
+        Board board = Board.forNewGame();
+        Coordinates kingCoords = new Coordinates(7, 4);
+
+        // Act
+        Board copy = board.copy();
+        copy.move(new Coordinates(6, 4), new Coordinates(4, 4));
+        copy.move(new Coordinates(1, 4), new Coordinates(3, 4));
+        copy.move(kingCoords, new Coordinates(6, 4));
+
+        // Assert
+        assertThat(board.get(kingCoords)).isPiece(Piece.PieceType.KING);
+        assertThat(board.getCastlingRights()).isEqualTo(Board.forNewGame().getCastlingRights());
+        assertThat(board.getZobristKey()).isEqualTo(Board.forNewGame().getZobristKey());
+        assertThat(copy.getZobristKey()).isEqualTo(copy.computeZobristKey());
+        assertThat(copy.getCastlingRights()).isEqualTo(Zobrist.BLACK_KINGSIDE | Zobrist.BLACK_QUEENSIDE);
+    }
+
+    @Test
+    public void bishopsOnOneSquareColourCannotMate() {
+        // Arrange
+        Board sameColour = Board.fromFen("4kb2/8/8/8/8/8/8/2B1K3 w - - 0 1");
+        Board oppositeColours = Board.fromFen("4k3/8/8/8/8/8/8/2B1KB2 w - - 0 1");
+        Board twoKnights = Board.fromFen("4k3/8/8/8/8/8/8/1N2K1N1 w - - 0 1");
+
+        // Act / Assert
+        assertThat(sameColour.hasInsufficientMaterial()).isTrue();
+        assertThat(oppositeColours.hasInsufficientMaterial()).isFalse();
+        assertThat(twoKnights.hasInsufficientMaterial()).isFalse();
+    }
+
+    @Test
+    public void promotionReplacesThePawnAndUnmakeRestoresIt() {
+        // Arrange
+        Board board = Board.fromFen("3r3k/4P3/8/8/8/8/8/K7 w - - 0 1");
+        long key = board.getZobristKey();
+        int move = PackedMove.fromMove(Move.of(Coordinates.of(1, 4), Coordinates.of(0, 3)).withPromotion(Piece.PieceType.KNIGHT), board);
+
+        // Act
+        board.makeMove(move);
+        Board promoted = Board.fromFen(board.toFen());
+        Piece knight = board.get(Coordinates.of(0, 3));
+        board.unmakeMove();
+
+        // Assert
+        assertThat(knight).isColour(PlayerColour.WHITE).isPiece(Piece.PieceType.KNIGHT);
+        assertThat(promoted.getBitboard(Piece.PieceType.PAWN, PlayerColour.WHITE)).isZero();
+        assertThat(board.get(Coordinates.of(1, 4))).isColour(PlayerColour.WHITE).isPiece(PAWN);
+        assertThat(board.get(Coordinates.of(0, 3))).isColour(PlayerColour.BLACK).isPiece(Piece.PieceType.ROOK);
+        assertThat(board.getZobristKey()).isEqualTo(key);
+    }
+}
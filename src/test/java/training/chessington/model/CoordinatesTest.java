@@ -0,0 +1,63 @@
+package training.chessington.model;
+
+import org.junit.Test;
+import training.chessington.model.pieces.Piece;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class CoordinatesTest {
+    @Test
+    public void ofReturnsSharedInstances() {
+        // Act
+        Coordinates first = Coordinates.of(3, 4);
+        Coordinates second = Coordinates.of(3, 4);
+
+        // Assert
+        assertThat(first).isSameAs(second);
+        assertThat(first).isEqualTo(new Coordinates(3, 4));
+        assertThat(first.hashCode()).isEqualTo(new Coordinates(3, 4).hashCode());
+    }
+
+    @Test
+    public void steppingOffTheBoardReturnsSharedInstances() {
+        // Act
+        Coordinates offBoard = Coordinates.of(0, 7).plus(-2, 1);
+
+        // Assert
+        assertThat(offBoard).isSameAs(Coordinates.of(-2, 8));
+        assertThat(offBoard.isOnBoard()).isFalse();
+    }
+
+    @Test
+    public void farOffBoardCoordinatesAreStillCreated() {
+        // Act
+        Coordinates farAway = Coordinates.of(100, -100);
+
+        // Assert
+        assertThat(farAway.getRow()).isEqualTo(100);
+        assertThat(farAway.getCol()).isEqualTo(-100);
+    }
+
+    @Test
+    public void movesBetweenBoardSquaresAreShared() {
+        // Act
+        Move move = Move.of(Coordinates.of(6, 4), Coordinates.of(4, 4));
+
+        // Assert
+        assertThat(move).isSameAs(Move.of(Bitboards.square(6, 4), Bitboards.square(4, 4)));
+        assertThat(move).isEqualTo(new Move(new Coordinates(6, 4), new Coordinates(4, 4)));
+        assertThat(Move.of(Coordinates.of(0, 0), Coordinates.of(-1, 0)).getTo()).isEqualTo(Coordinates.of(-1, 0));
+    }
+
+    @Test
+    public void promotionMovesAreSharedAndDistinct() {
+        // Act
+        Move queen = Move.of(Bitboards.square(1, 4), Bitboards.square(0, 4), Piece.PieceType.QUEEN);
+
+        // Assert
+        assertThat(queen).isSameAs(Move.of(Coordinates.of(1, 4), Coordinates.of(0, 4)).withPromotion(Piece.PieceType.QUEEN));
+        assertThat(queen).isEqualTo(new Move(new Coordinates(1, 4), new Coordinates(0, 4), Piece.PieceType.QUEEN));
+        assertThat(queen).isNotEqualTo(Move.of(Bitboards.square(1, 4), Bitboards.square(0, 4)));
+        assertThat(queen.getPromotion()).isEqualTo(Piece.PieceType.QUEEN);
+    }
+}
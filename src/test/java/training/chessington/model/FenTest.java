@@ -0,0 +1,161 @@
+package training.chessington.model;
+
+import org.junit.Test;
+import training.chessington.model.pieces.Piece;
+
+import static org.assertj.core.api.Assertions.*;
+import static training.chessington.model.pieces.PieceAssert.*;
+
+public class FenTest {
+    @Test
+    public void startingPositionMatchesNewGame() {
+        // Act
+        Board board = Board.fromFen(Fen.STARTING_POSITION);
+
+        // Assert
+        assertThat(board.getZobristKey()).isEqualTo(Board.forNewGame().getZobristKey());
+        assertThat(board.getCastlingRights()).isEqualTo(Board.forNewGame().getCastlingRights());
+        assertThat(Board.forNewGame().toFen()).isEqualTo(Fen.STARTING_POSITION);
+    }
+
+    @Test
+    public void readsAllSixFields() {
+        // Act
+        Board board = Board.fromFen("rnbqkbnr/pp1ppppp/8/2p5/4P3/5N2/PPPP1PPP/RNBQKB1R b Kq e3 0 2");
+
+        // Assert
+        assertThat(board.get(new Coordinates(5, 5))).isColour(PlayerColour.WHITE).isPiece(Piece.PieceType.KNIGHT);
+        assertThat(board.getSideToMove()).isEqualTo(PlayerColour.BLACK);
+        assertThat(board.getCastlingRights()).isEqualTo(Zobrist.WHITE_KINGSIDE | Zobrist.BLACK_QUEENSIDE);
+        assertThat(board.getEnPassantSquare()).isEqualTo(Bitboards.square(5, 4));
+        assertThat(board.getHalfmoveClock()).isEqualTo(0);
+        assertThat(board.getFullmoveNumber()).isEqualTo(2);
+    }
+
+    @Test
+    public void roundTripsPositions() {
+        String[] positions = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+                "8/5pk1/6p1/7p/3Q3P/6P1/5PK1/2q5 b - - 12 40"
+        };
+
+        for (String fen : positions) {
+            // Act
+            Board board = Board.fromFen(fen);
+
+            // Assert
+            assertThat(board.toFen()).isEqualTo(fen);
+            assertThat(board.getZobristKey()).isEqualTo(board.computeZobristKey());
+        }
+    }
+
+    @Test
+    public void moveCountersAreOptional() {
+        // Act
+        Board board = Board.fromFen("8/8/8/8/8/8/8/K6k w - -");
+
+        // Assert
+        assertThat(board.getHalfmoveClock()).isZero();
+        assertThat(board.getFullmoveNumber()).isEqualTo(1);
+    }
+
+    @Test
+    public void movesUpdateTheCounters() {
+        // Arrange
+        Board board = Board.forNewGame();
+
+        // Act
+        board.move(new Coordinates(6, 4), new Coordinates(4, 4));
+        board.move(new Coordinates(0, 6), new Coordinates(2, 5));
+        board.move(new Coordinates(7, 6), new Coordinates(5, 5));
+
+        // Assert
+        assertThat(board.toFen()).isEqualTo("rnbqkb1r/pppppppp/5n2/8/4P3/5N2/PPPP1PPP/RNBQKB1R b KQkq - 2 2");
+    }
+
+    @Test
+    public void unmakeRestoresTheCounters() {
+        // Arrange
+        Board board = Board.fromFen("4k3/8/8/8/8/8/8/R3K3 b Q - 7 30");
+        int move = PackedMove.of(Bitboards.square(0, 4), Bitboards.square(0, 3));
+
+        // Act
+        board.makeMove(move);
+        String afterMove = board.toFen();
+        board.unmakeMove();
+
+        // Assert
+        assertThat(afterMove).isEqualTo("3k4/8/8/8/8/8/8/R3K3 w Q - 8 31");
+        assertThat(board.toFen()).isEqualTo("4k3/8/8/8/8/8/8/R3K3 b Q - 7 30");
+    }
+
+    @Test
+    public void rejectsMalformedFen() {
+        assertThatThrownBy(() -> Board.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP w KQkq - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Board.fromFen("rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Board.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Board.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq e4 0 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void rejectsPositionsWithoutOneKingEach() {
+        assertThatThrownBy(() -> Board.fromFen("8/8/8/8/8/8/8/R6k w - - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exactly one king");
+        assertThatThrownBy(() -> Board.fromFen("k7/8/8/8/8/8/8/K5KR w - - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exactly one king");
+    }
+
+    @Test
+    public void rejectsPositionsWhereTheSideNotToMoveIsInCheck() {
+        assertThatThrownBy(() -> Board.fromFen("4k3/8/8/8/8/8/8/4R1K1 w - - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not to move cannot be in check");
+        assertThat(Board.fromFen("4k3/8/8/8/8/8/8/4R1K1 b - - 0 1").isInCheck(PlayerColour.BLACK)).isTrue();
+    }
+
+    @Test
+    public void rejectsPawnsOnTheFirstOrEighthRank() {
+        assertThatThrownBy(() -> Board.fromFen("P3k3/8/8/8/8/8/8/4K3 w - - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("first or eighth rank");
+        assertThatThrownBy(() -> Board.fromFen("4k3/8/8/8/8/8/8/4K2p w - - 0 1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("first or eighth rank");
+    }
+
+    @Test
+    public void rejectsEnPassantSquaresNoPawnCouldHavePassed() {
+        String[] positions = {
+                "4k3/8/8/8/8/8/4P3/4K3 w - e3 0 1",
+                "4k3/8/8/8/8/8/8/4K3 b - e3 0 1",
+                "4k3/8/8/8/4p3/8/8/4K3 b - e3 0 1",
+                "4k3/8/8/8/4P3/4n3/8/4K3 b - e3 0 1",
+                "4k3/8/8/8/4P3/8/4N3/4K3 b - e3 0 1"
+        };
+
+        for (String fen : positions) {
+            assertThatThrownBy(() -> Board.fromFen(fen))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("en passant");
+        }
+    }
+
+    @Test
+    public void gameCanBeLoadedFromFen() {
+        // Act
+        Game game = Game.fromFen("4k3/8/8/8/8/8/8/R3K3 b Q - 0 1");
+
+        // Assert
+        assertThat(game.getAllowedMoves(new Coordinates(7, 0))).isEmpty();
+        assertThat(game.getAllowedMoves(new Coordinates(0, 4))).isNotEmpty();
+        assertThat(game.toFen()).isEqualTo("4k3/8/8/8/8/8/8/R3K3 b Q - 0 1");
+    }
+}
@@ -2,6 +2,7 @@ package training.chessington.model;
 
 import org.junit.Test;
 import training.chessington.model.pieces.King;
+import training.chessington.model.pieces.Pawn;
 import training.chessington.model.pieces.Piece;
 import training.chessington.model.pieces.Rook;
 
@@ -94,4 +95,150 @@ public class GameTest {
         // Assert
         assertThat(game.isEnded()).isTrue();
     }
+
+    @Test
+    public void cannotCaptureEnPassantIntoCheck() throws InvalidMoveException {
+        // Arrange
+        Board board = Board.empty();
+        Coordinates kingCoords = new Coordinates(3, 0);
+        board.placePiece(kingCoords, new King(PlayerColour.WHITE));
+
+        Coordinates pawnCoords = new Coordinates(3, 4);
+        board.placePiece(pawnCoords, new Pawn(PlayerColour.WHITE));
+
+        board.placePiece(new Coordinates(3, 7), new Rook(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(0, 7), new King(PlayerColour.BLACK));
+
+        Coordinates enemyPawnCoords = new Coordinates(1, 3);
+        board.placePiece(enemyPawnCoords, new Pawn(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(6, 7), new Pawn(PlayerColour.WHITE));
+
+        Game game = new Game(board);
+        game.makeMove(new Move(new Coordinates(6, 7), new Coordinates(5, 7)));
+        game.makeMove(new Move(enemyPawnCoords, enemyPawnCoords.plus(2, 0)));
+
+        // Act
+        List<Move> pawnMoves = game.getAllowedMoves(pawnCoords);
+
+        // Assert
+        assertThat(pawnMoves).doesNotContain(new Move(pawnCoords, enemyPawnCoords.plus(2, 0)));
+        assertThat(pawnMoves).contains(new Move(pawnCoords, pawnCoords.plus(-1, 0)));
+    }
+
+    @Test
+    public void checkmateRecordsTheWinner() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("rnbqkbnr/pppp1ppp/8/4p3/6P1/5P2/PPPPP2P/RNBQKBNR b KQkq - 0 2");
+
+        // Act
+        game.makeMove(new Move(new Coordinates(0, 3), new Coordinates(4, 7)));
+
+        // Assert
+        assertThat(game.getResult()).isEqualTo(GameResult.CHECKMATE);
+        assertThat(game.getWinner()).isEqualTo(PlayerColour.BLACK);
+    }
+
+    @Test
+    public void gameEndsInStalemate() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("k7/8/1Q6/8/8/8/8/4K3 w - - 0 1");
+
+        // Act
+        game.makeMove(new Move(new Coordinates(7, 4), new Coordinates(6, 4)));
+
+        // Assert
+        assertThat(game.isEnded()).isTrue();
+        assertThat(game.getResult()).isEqualTo(GameResult.STALEMATE);
+        assertThat(game.getWinner()).isNull();
+    }
+
+    @Test
+    public void gameEndsWhenNeitherSideCanMate() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("4k3/8/8/8/8/8/3r4/4K3 w - - 0 1");
+
+        // Act
+        game.makeMove(new Move(new Coordinates(7, 4), new Coordinates(6, 3)));
+
+        // Assert
+        assertThat(game.getResult()).isEqualTo(GameResult.INSUFFICIENT_MATERIAL);
+    }
+
+    @Test
+    public void threefoldRepetitionCanBeClaimedAndFivefoldEndsTheGame() throws InvalidMoveException {
+        // Arrange
+        Game game = new Game(Board.forNewGame());
+        Move[] shuffle = {
+                new Move(new Coordinates(7, 6), new Coordinates(5, 5)),
+                new Move(new Coordinates(0, 6), new Coordinates(2, 5)),
+                new Move(new Coordinates(5, 5), new Coordinates(7, 6)),
+                new Move(new Coordinates(2, 5), new Coordinates(0, 6))
+        };
+
+        // Act
+        for (int ply = 0; ply < 8; ply++) {
+            game.makeMove(shuffle[ply % 4]);
+        }
+        GameResult claimable = game.getClaimableDraw();
+        for (int ply = 8; ply < 16; ply++) {
+            game.makeMove(shuffle[ply % 4]);
+        }
+
+        // Assert
+        assertThat(claimable).isEqualTo(GameResult.THREEFOLD_REPETITION);
+        assertThat(game.getResult()).isEqualTo(GameResult.FIVEFOLD_REPETITION);
+    }
+
+    @Test
+    public void fiftyMoveRuleCanBeClaimed() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("4k3/8/8/8/8/8/8/R3K3 w - - 99 80");
+
+        // Act
+        game.makeMove(new Move(new Coordinates(7, 0), new Coordinates(6, 0)));
+        game.claimDraw();
+
+        // Assert
+        assertThat(game.getResult()).isEqualTo(GameResult.FIFTY_MOVE_RULE);
+        assertThat(game.isEnded()).isTrue();
+    }
+
+    @Test
+    public void seventyFiveMoveRuleEndsTheGame() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("4k3/8/8/8/8/8/8/R3K3 w - - 149 100");
+
+        // Act
+        game.makeMove(new Move(new Coordinates(7, 0), new Coordinates(6, 0)));
+
+        // Assert
+        assertThat(game.getResult()).isEqualTo(GameResult.SEVENTY_FIVE_MOVE_RULE);
+    }
+
+    @Test
+    public void cannotClaimDrawWithoutGrounds() {
+        // Arrange
+        Game game = new Game(Board.forNewGame());
+
+        // Act / Assert
+        assertThat(game.getClaimableDraw()).isNull();
+        assertThatThrownBy(game::claimDraw).isInstanceOf(InvalidMoveException.class);
+    }
+
+    @Test
+    public void pawnMustNameItsPromotion() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("7k/4P1pp/8/8/8/8/8/K7 w - - 0 1");
+        Move move = new Move(new Coordinates(1, 4), new Coordinates(0, 4));
+
+        // Act
+        Throwable withoutPromotion = catchThrowable(() -> game.makeMove(move));
+        game.makeMove(move.withPromotion(Piece.PieceType.ROOK));
+
+        // Assert
+        assertThat(withoutPromotion).isInstanceOf(InvalidMoveException.class);
+        assertThat(game.pieceAt(0, 4)).isColour(PlayerColour.WHITE).isPiece(Piece.PieceType.ROOK);
+        assertThat(game.isEnded()).isTrue();
+        assertThat(game.getResult()).isEqualTo(GameResult.CHECKMATE);
+    }
 }
@@ -0,0 +1,85 @@
+package training.chessington.model;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LegalMoveCacheTest {
+    private static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    public void groupsMovesByTheSquareTheyStartFrom() {
+        // Arrange
+        Board board = Board.fromFen(KIWIPETE);
+        LegalMoveCache cache = new LegalMoveCache();
+
+        // Act
+        LegalMoves moves = cache.get(board);
+
+        // Assert
+        assertThat(moves.size()).isEqualTo(48);
+        for (int square = 0; square < Bitboards.SQUARES; square++) {
+            MoveList expected = new MoveList();
+            if ((board.getOccupied(PlayerColour.WHITE) & Bitboards.bit(square)) != 0) {
+                LegalMoveGenerator.generateMoves(board, square, expected);
+            }
+            assertThat(moves.from(square)).containsExactlyElementsOf(expected.toMoves());
+        }
+    }
+
+    @Test
+    public void servesRepeatedPositionsFromTheCache() {
+        // Arrange
+        Board board = Board.forNewGame();
+        LegalMoveCache cache = new LegalMoveCache();
+        LegalMoves first = cache.get(board);
+        board.makeMove(PackedMove.fromAlgebraic("g1f3", board));
+        board.makeMove(PackedMove.fromAlgebraic("g8f6", board));
+        board.makeMove(PackedMove.fromAlgebraic("f3g1", board));
+        board.makeMove(PackedMove.fromAlgebraic("f6g8", board));
+
+        // Act
+        LegalMoves again = cache.get(board);
+
+        // Assert
+        assertThat(again).isSameAs(first);
+        assertThat(again.from(Bitboards.square(7, 6))).isSameAs(first.from(Bitboards.square(7, 6)));
+    }
+
+    @Test
+    public void dropsTheLeastRecentlyUsedPosition() {
+        // Arrange
+        LegalMoveCache cache = new LegalMoveCache(2);
+        Board start = Board.forNewGame();
+        Board e4 = Board.fromFen("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        Board d4 = Board.fromFen("rnbqkbnr/pppppppp/8/8/3P4/8/PPP1PPPP/RNBQKBNR b KQkq d3 0 1");
+        LegalMoves startMoves = cache.get(start);
+        LegalMoves e4Moves = cache.get(e4);
+        cache.get(start);
+
+        // Act
+        cache.get(d4);
+
+        // Assert
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(start)).isSameAs(startMoves);
+        assertThat(cache.get(e4)).isNotSameAs(e4Moves);
+    }
+
+    @Test
+    public void squareListsCannotBeModified() {
+        // Arrange
+        LegalMoves moves = new LegalMoveCache().get(Board.forNewGame());
+        List<Move> knightMoves = moves.from(Bitboards.square(7, 1));
+
+        // Act
+        Throwable thrown = catchThrowable(knightMoves::clear);
+
+        // Assert
+        assertThat(knightMoves).hasSize(2);
+        assertThat(thrown).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(moves.from(Bitboards.square(4, 4))).isEmpty();
+    }
+}
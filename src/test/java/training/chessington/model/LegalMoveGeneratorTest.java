@@ -0,0 +1,163 @@
+package training.chessington.model;
+
+import org.junit.Test;
+import training.chessington.model.pieces.Bishop;
+import training.chessington.model.pieces.King;
+import training.chessington.model.pieces.Knight;
+import training.chessington.model.pieces.Pawn;
+import training.chessington.model.pieces.Queen;
+import training.chessington.model.pieces.Rook;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LegalMoveGeneratorTest {
+    @Test
+    public void pinnedPieceCanOnlyMoveAlongThePin() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(7, 4), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(5, 4), new Rook(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(1, 4), new Rook(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(0, 0), new King(PlayerColour.BLACK));
+
+        // Act
+        List<Move> moves = legalMoves(board, new Coordinates(5, 4));
+
+        // Assert
+        assertThat(moves).hasSize(5);
+        assertThat(moves).contains(new Move(new Coordinates(5, 4), new Coordinates(1, 4)));
+        assertThat(moves).doesNotContain(new Move(new Coordinates(5, 4), new Coordinates(5, 0)));
+    }
+
+    @Test
+    public void pinnedKnightCannotMove() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(7, 4), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(6, 3), new Knight(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(4, 1), new Bishop(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(0, 0), new King(PlayerColour.BLACK));
+
+        // Act
+        List<Move> moves = legalMoves(board, new Coordinates(6, 3));
+
+        // Assert
+        assertThat(moves).isEmpty();
+    }
+
+    @Test
+    public void inCheckOnlyBlocksAndCapturesAreAllowed() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(7, 4), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(7, 0), new Rook(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(2, 4), new Queen(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(0, 0), new King(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(4, 2), new Knight(PlayerColour.WHITE));
+
+        // Act
+        List<Move> rookMoves = legalMoves(board, new Coordinates(7, 0));
+        List<Move> knightMoves = legalMoves(board, new Coordinates(4, 2));
+
+        // Assert
+        assertThat(rookMoves).isEmpty();
+        assertThat(knightMoves).containsExactlyInAnyOrder(
+                new Move(new Coordinates(4, 2), new Coordinates(3, 4)),
+                new Move(new Coordinates(4, 2), new Coordinates(5, 4)));
+    }
+
+    @Test
+    public void inDoubleCheckOnlyTheKingCanMove() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(7, 4), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(7, 7), new Rook(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(2, 4), new Rook(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(5, 3), new Knight(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(0, 0), new King(PlayerColour.BLACK));
+
+        // Act
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generateMoves(board, PlayerColour.WHITE, moves);
+
+        // Assert
+        for (int i = 0; i < moves.size(); i++) {
+            assertThat(PackedMove.getFrom(moves.get(i))).isEqualTo(Bitboards.square(7, 4));
+        }
+        assertThat(moves.size()).isGreaterThan(0);
+    }
+
+    @Test
+    public void kingCannotRetreatAlongCheckingRay() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(4, 4), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(0, 4), new Rook(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(0, 0), new King(PlayerColour.BLACK));
+
+        // Act
+        List<Move> moves = legalMoves(board, new Coordinates(4, 4));
+
+        // Assert
+        assertThat(moves).doesNotContain(new Move(new Coordinates(4, 4), new Coordinates(5, 4)));
+        assertThat(moves).hasSize(6);
+    }
+
+    @Test
+    public void cannotCaptureEnPassantWhenBothPawnsShieldTheKing() {
+        // Arrange
+        Board board = Board.empty();
+        board.placePiece(new Coordinates(3, 0), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(3, 4), new Pawn(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(1, 5), new Pawn(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(3, 7), new Rook(PlayerColour.BLACK));
+        board.placePiece(new Coordinates(0, 7), new King(PlayerColour.BLACK));
+        board.setSideToMove(PlayerColour.BLACK);
+        board.move(new Coordinates(1, 5), new Coordinates(3, 5));
+
+        // Act
+        List<Move> moves = legalMoves(board, new Coordinates(3, 4));
+
+        // Assert
+        assertThat(moves).containsExactly(new Move(new Coordinates(3, 4), new Coordinates(2, 4)));
+    }
+
+    @Test
+    public void agreesWithTrialMovesOverRandomGames() {
+        Random random = new Random(42);
+        for (int game = 0; game < 20; game++) {
+            Board board = Board.forNewGame();
+            for (int ply = 0; ply < 80; ply++) {
+                // Arrange
+                MoveList pseudoLegal = new MoveList();
+                board.generateMoves(board.getSideToMove(), pseudoLegal);
+                MoveList expected = new MoveList();
+                for (int i = 0; i < pseudoLegal.size(); i++) {
+                    if (board.leavesKingSafe(pseudoLegal.get(i))) {
+                        expected.add(pseudoLegal.get(i));
+                    }
+                }
+
+                // Act
+                MoveList actual = new MoveList();
+                LegalMoveGenerator.generateMoves(board, board.getSideToMove(), actual);
+
+                // Assert
+                assertThat(actual.toMoves()).containsExactlyElementsOf(expected.toMoves());
+                if (actual.isEmpty()) {
+                    break;
+                }
+                board.makeMove(actual.get(random.nextInt(actual.size())));
+            }
+        }
+    }
+
+    private static List<Move> legalMoves(Board board, Coordinates from) {
+        MoveList moves = new MoveList();
+        LegalMoveGenerator.generateMoves(board, Bitboards.square(from), moves);
+        return moves.toMoves();
+    }
+}
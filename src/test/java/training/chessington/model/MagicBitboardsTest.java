@@ -0,0 +1,58 @@
+package training.chessington.model;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class MagicBitboardsTest {
+    @Test
+    public void rookAttacksMatchRayWalkForRandomOccupancies() {
+        // Arrange
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10000; i++) {
+            int square = random.nextInt(64);
+            long occupied = random.nextLong() & random.nextLong();
+
+            // Act
+            long attacks = MagicBitboards.rookAttacks(square, occupied);
+
+            // Assert
+            assertThat(attacks).isEqualTo(MagicBitboards.rookRays(square, occupied));
+        }
+    }
+
+    @Test
+    public void bishopAttacksMatchRayWalkForRandomOccupancies() {
+        // Arrange
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10000; i++) {
+            int square = random.nextInt(64);
+            long occupied = random.nextLong() & random.nextLong();
+
+            // Act
+            long attacks = MagicBitboards.bishopAttacks(square, occupied);
+
+            // Assert
+            assertThat(attacks).isEqualTo(MagicBitboards.bishopRays(square, occupied));
+        }
+    }
+
+    @Test
+    public void rookAttacksStopAtFirstBlocker() {
+        // Arrange
+        int square = Bitboards.square(4, 4);
+        long occupied = Bitboards.bit(Bitboards.square(4, 6)) | Bitboards.bit(Bitboards.square(4, 7));
+
+        // Act
+        long attacks = MagicBitboards.rookAttacks(square, occupied);
+
+        // Assert
+        assertThat(attacks & Bitboards.bit(Bitboards.square(4, 6))).isNotZero();
+        assertThat(attacks & Bitboards.bit(Bitboards.square(4, 7))).isZero();
+        assertThat(Long.bitCount(attacks)).isEqualTo(13);
+    }
+}
@@ -0,0 +1,101 @@
+package training.chessington.model;
+
+import org.junit.Test;
+import training.chessington.model.pieces.King;
+import training.chessington.model.pieces.Pawn;
+import training.chessington.model.pieces.Rook;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PackedMoveTest {
+    @Test
+    public void packedMoveRoundTripsThroughMove() {
+        // Arrange
+        Board board = Board.forNewGame();
+        Move move = new Move(new Coordinates(7, 1), new Coordinates(5, 2));
+
+        // Act
+        int packed = PackedMove.fromMove(move, board);
+
+        // Assert
+        assertThat(PackedMove.getFrom(packed)).isEqualTo(Bitboards.square(7, 1));
+        assertThat(PackedMove.getTo(packed)).isEqualTo(Bitboards.square(5, 2));
+        assertThat(PackedMove.isCapture(packed)).isFalse();
+        assertThat(PackedMove.toMove(packed)).isEqualTo(move);
+    }
+
+    @Test
+    public void capturesAndDoublePushesAreFlagged() {
+        // Arrange
+        Board board = Board.empty();
+        Coordinates pawnCoords = new Coordinates(6, 4);
+        board.placePiece(pawnCoords, new Pawn(PlayerColour.WHITE));
+
+        Coordinates enemyCoords = new Coordinates(5, 5);
+        board.placePiece(enemyCoords, new Rook(PlayerColour.BLACK));
+
+        // Act
+        int doublePush = PackedMove.fromMove(new Move(pawnCoords, pawnCoords.plus(-2, 0)), board);
+        int capture = PackedMove.fromMove(new Move(pawnCoords, enemyCoords), board);
+
+        // Assert
+        assertThat(PackedMove.hasFlag(doublePush, PackedMove.DOUBLE_PAWN_PUSH)).isTrue();
+        assertThat(PackedMove.isCapture(doublePush)).isFalse();
+        assertThat(PackedMove.isCapture(capture)).isTrue();
+    }
+
+    @Test
+    public void castlingIsFlagged() {
+        // Arrange
+        Board board = Board.empty();
+        Coordinates kingCoords = new Coordinates(7, 4);
+        board.placePiece(kingCoords, new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(7, 7), new Rook(PlayerColour.WHITE));
+
+        // Act
+        int castle = PackedMove.fromMove(new Move(kingCoords, kingCoords.plus(0, 2)), board);
+
+        // Assert
+        assertThat(PackedMove.hasFlag(castle, PackedMove.CASTLE)).isTrue();
+    }
+
+    @Test
+    public void enPassantTargetsPassedSquareButMoveTargetsCapturedPawn() {
+        // Arrange
+        Board board = Board.empty();
+        Coordinates pawnCoords = new Coordinates(3, 4);
+        board.placePiece(pawnCoords, new Pawn(PlayerColour.WHITE));
+
+        Coordinates enemyCoords = new Coordinates(1, 3);
+        board.placePiece(enemyCoords, new Pawn(PlayerColour.BLACK));
+        board.move(enemyCoords, enemyCoords.plus(2, 0));
+
+        Move move = new Move(pawnCoords, new Coordinates(3, 3));
+
+        // Act
+        int packed = PackedMove.fromMove(move, board);
+
+        // Assert
+        assertThat(PackedMove.hasFlag(packed, PackedMove.EN_PASSANT)).isTrue();
+        assertThat(PackedMove.getTo(packed)).isEqualTo(Bitboards.square(2, 3));
+        assertThat(PackedMove.toMove(packed)).isEqualTo(move);
+    }
+
+    @Test
+    public void moveListGrowsAndClears() {
+        // Arrange
+        MoveList moves = new MoveList(2);
+
+        // Act
+        for (int i = 1; i <= 300; i++) {
+            moves.add(i);
+        }
+
+        // Assert
+        assertThat(moves.size()).isEqualTo(300);
+        assertThat(moves.contains(300)).isTrue();
+
+        moves.clear();
+        assertThat(moves.isEmpty()).isTrue();
+    }
+}
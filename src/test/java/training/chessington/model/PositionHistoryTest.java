@@ -0,0 +1,57 @@
+package training.chessington.model;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PositionHistoryTest {
+    @Test
+    public void countsOccurrencesOfEachKey() {
+        // Arrange
+        PositionHistory history = new PositionHistory();
+
+        // Act
+        history.push(1L, false);
+        history.push(2L, false);
+        int third = history.push(1L, false);
+
+        // Assert
+        assertThat(third).isEqualTo(2);
+        assertThat(history.count(2L)).isEqualTo(1);
+        assertThat(history.count(3L)).isZero();
+    }
+
+    @Test
+    public void irreversiblePositionForgetsEarlierOnes() {
+        // Arrange
+        PositionHistory history = new PositionHistory();
+        history.push(1L, false);
+        history.push(1L, false);
+
+        // Act
+        int count = history.push(1L, true);
+
+        // Assert
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    public void collidingKeysSurviveGrowthAndClearing() {
+        // Arrange
+        PositionHistory history = new PositionHistory();
+        for (long i = 0; i < 1000; i++) {
+            history.push(i << 32 | i, false);
+            history.push(i << 32 | i, false);
+        }
+
+        // Act
+        int repeated = history.count(500L << 32 | 500L);
+        history.clear();
+
+        // Assert
+        assertThat(repeated).isEqualTo(2);
+        for (long i = 0; i < 1000; i++) {
+            assertThat(history.count(i << 32 | i)).isZero();
+        }
+    }
+}
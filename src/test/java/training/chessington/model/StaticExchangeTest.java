@@ -0,0 +1,116 @@
+package training.chessington.model;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class StaticExchangeTest {
+    @Test
+    public void undefendedCaptureWinsTheVictim() {
+        // Arrange
+        Board board = Board.fromFen("1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1");
+
+        // Act
+        int gain = board.staticExchange(PackedMove.fromAlgebraic("e1e5", board));
+
+        // Assert
+        assertThat(gain).isEqualTo(100);
+    }
+
+    @Test
+    public void capturingADefendedPawnWithAKnightLosesTheDifference() {
+        // Arrange
+        Board board = Board.fromFen("4k3/8/3p4/4p3/8/3N4/8/4K3 w - - 0 1");
+
+        // Act
+        int gain = board.staticExchange(PackedMove.fromAlgebraic("d3e5", board));
+
+        // Assert
+        assertThat(gain).isEqualTo(100 - 320);
+    }
+
+    @Test
+    public void countsXRayAttackersOfBothColours() {
+        // Arrange
+        Board board = Board.fromFen("1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1");
+
+        // Act
+        int gain = board.staticExchange(PackedMove.fromAlgebraic("d3e5", board));
+
+        // Assert
+        assertThat(gain).isEqualTo(-220);
+    }
+
+    @Test
+    public void kingCannotRecaptureOntoADefendedSquare() {
+        // Arrange
+        Board backed = Board.fromFen("4k3/4p3/8/8/8/8/4R3/4R1K1 w - - 0 1");
+        Board alone = Board.fromFen("4k3/4p3/8/8/8/8/4R3/6K1 w - - 0 1");
+
+        // Act
+        int backedGain = backed.staticExchange(PackedMove.fromAlgebraic("e2e7", backed));
+        int aloneGain = alone.staticExchange(PackedMove.fromAlgebraic("e2e7", alone));
+
+        // Assert
+        assertThat(backedGain).isEqualTo(100);
+        assertThat(aloneGain).isEqualTo(100 - 500);
+    }
+
+    @Test
+    public void enPassantWinsAPawn() {
+        // Arrange
+        Board board = Board.fromFen("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1");
+
+        // Act
+        int gain = board.staticExchange(PackedMove.fromAlgebraic("e5d6", board));
+
+        // Assert
+        assertThat(gain).isEqualTo(100);
+    }
+
+    @Test
+    public void promotionGainsTheNewPieceUnlessItIsTaken() {
+        // Arrange
+        Board free = Board.fromFen("7k/P7/8/8/8/8/8/K7 w - - 0 1");
+        Board guarded = Board.fromFen("1r5k/P7/8/8/8/8/8/K7 w - - 0 1");
+
+        // Act
+        int freeGain = free.staticExchange(PackedMove.fromAlgebraic("a7a8q", free));
+        int guardedGain = guarded.staticExchange(PackedMove.fromAlgebraic("a7a8q", guarded));
+
+        // Assert
+        assertThat(freeGain).isEqualTo(900 - 100);
+        assertThat(guardedGain).isEqualTo(-100);
+    }
+
+    @Test
+    public void acceptsMovesInTheMoveApi() {
+        // Arrange
+        Board board = Board.fromFen("4k3/8/3p4/4p3/8/3N4/8/4K3 w - - 0 1");
+
+        // Act
+        int gain = board.staticExchange(Move.of(new Coordinates(5, 3), new Coordinates(3, 4)));
+
+        // Assert
+        assertThat(gain).isEqualTo(100 - 320);
+    }
+
+    @Test
+    public void findsHangingPieces() {
+        // Arrange
+        Board board = Board.fromFen("4k3/8/3p4/4N3/8/8/6B1/R3K3 w - - 0 1");
+        Board defended = Board.fromFen("4k3/8/3p4/4N3/3P4/8/8/4K3 w - - 0 1");
+
+        // Act
+        int knightLoss = board.getThreatenedLoss(new Coordinates(3, 4));
+        int rookLoss = board.getThreatenedLoss(new Coordinates(7, 0));
+        int emptyLoss = board.getThreatenedLoss(new Coordinates(4, 4));
+        int defendedLoss = defended.getThreatenedLoss(new Coordinates(3, 4));
+
+        // Assert
+        assertThat(knightLoss).isEqualTo(320);
+        assertThat(rookLoss).isZero();
+        assertThat(emptyLoss).isZero();
+        assertThat(defendedLoss).isEqualTo(320 - 100);
+    }
+}
@@ -0,0 +1,135 @@
+package training.chessington.model;
+
+import org.junit.Test;
+import training.chessington.model.pieces.King;
+import training.chessington.model.pieces.Pawn;
+import training.chessington.model.pieces.Piece;
+import training.chessington.model.pieces.Rook;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ZobristTest {
+    @Test
+    public void transposedMoveOrdersGiveSameKey() {
+        // Arrange
+        Board first = Board.forNewGame();
+        Board second = Board.forNewGame();
+
+        // Act
+        first.move(new Coordinates(7, 1), new Coordinates(5, 2));
+        first.move(new Coordinates(0, 1), new Coordinates(2, 2));
+        first.move(new Coordinates(7, 6), new Coordinates(5, 5));
+
+        second.move(new Coordinates(7, 6), new Coordinates(5, 5));
+        second.move(new Coordinates(0, 1), new Coordinates(2, 2));
+        second.move(new Coordinates(7, 1), new Coordinates(5, 2));
+
+        // Assert
+        assertThat(first.getZobristKey()).isEqualTo(second.getZobristKey());
+    }
+
+    @Test
+    public void sideToMoveChangesKey() {
+        // Arrange
+        Board board = Board.forNewGame();
+        long whiteToMove = board.getZobristKey();
+
+        // Act
+        board.setSideToMove(PlayerColour.BLACK);
+
+        // Assert
+        assertThat(board.getZobristKey()).isNotEqualTo(whiteToMove);
+        assertThat(board.getZobristKey()).isEqualTo(board.computeZobristKey());
+    }
+
+    @Test
+    public void losingCastlingRightsChangesKey() {
+        // Arrange
+        Board moved = Board.forNewGame();
+        Board unmoved = Board.forNewGame();
+        Coordinates knight = new Coordinates(7, 6);
+        Coordinates rook = new Coordinates(7, 7);
+
+        // Act
+        moved.move(knight, new Coordinates(5, 5));
+        moved.move(new Coordinates(0, 1), new Coordinates(2, 2));
+        moved.move(rook, knight);
+        moved.move(new Coordinates(2, 2), new Coordinates(0, 1));
+        moved.move(knight, rook);
+        moved.move(new Coordinates(0, 1), new Coordinates(2, 2));
+
+        unmoved.move(knight, new Coordinates(5, 5));
+        unmoved.move(new Coordinates(0, 1), new Coordinates(2, 2));
+
+        // Assert
+        assertThat(moved.getCastlingRights() & Zobrist.WHITE_KINGSIDE).isZero();
+        assertThat(unmoved.getCastlingRights() & Zobrist.WHITE_KINGSIDE).isNotZero();
+        assertThat(moved.getZobristKey()).isNotEqualTo(unmoved.getZobristKey());
+    }
+
+    @Test
+    public void capturableDoublePushSetsEnPassantFile() {
+        // Arrange
+        Board capturable = Board.empty();
+        capturable.placePiece(new Coordinates(3, 4), new Pawn(PlayerColour.WHITE));
+        capturable.placePiece(new Coordinates(1, 3), new Pawn(PlayerColour.BLACK));
+        long before = capturable.getZobristKey();
+
+        // Act
+        capturable.move(new Coordinates(1, 3), new Coordinates(3, 3));
+        long afterDoublePush = capturable.getZobristKey();
+
+        // Assert
+        assertThat(afterDoublePush).isEqualTo(capturable.computeZobristKey());
+        assertThat(afterDoublePush ^ before)
+                .isNotEqualTo(Zobrist.piece(Piece.PieceType.PAWN, PlayerColour.BLACK, Bitboards.square(1, 3))
+                        ^ Zobrist.piece(Piece.PieceType.PAWN, PlayerColour.BLACK, Bitboards.square(3, 3))
+                        ^ Zobrist.sideToMove(PlayerColour.BLACK));
+    }
+
+    @Test
+    public void incrementalKeyMatchesFullRecomputeThroughMakeAndUnmake() {
+        // Arrange
+        Board board = Board.forNewGame();
+        Random random = new Random(7);
+        long[] keys = new long[40];
+        MoveList moves = new MoveList();
+        int made = 0;
+
+        // Act
+        for (; made < keys.length; made++) {
+            moves.clear();
+            board.generateMoves(board.getSideToMove(), moves);
+            if (moves.isEmpty()) {
+                break;
+            }
+            keys[made] = board.getZobristKey();
+            board.makeMove(moves.get(random.nextInt(moves.size())));
+
+            // Assert
+            assertThat(board.getZobristKey()).isEqualTo(board.computeZobristKey());
+        }
+
+        for (int i = made - 1; i >= 0; i--) {
+            board.unmakeMove();
+            assertThat(board.getZobristKey()).isEqualTo(keys[i]);
+        }
+        assertThat(board.getZobristKey()).isEqualTo(Board.forNewGame().getZobristKey());
+    }
+
+    @Test
+    public void placingPiecesUpdatesKey() {
+        // Arrange
+        Board board = Board.empty();
+
+        // Act
+        board.placePiece(new Coordinates(7, 4), new King(PlayerColour.WHITE));
+        board.placePiece(new Coordinates(7, 7), new Rook(PlayerColour.WHITE));
+
+        // Assert
+        assertThat(board.getCastlingRights()).isEqualTo(Zobrist.WHITE_KINGSIDE);
+        assertThat(board.getZobristKey()).isEqualTo(board.computeZobristKey());
+    }
+}
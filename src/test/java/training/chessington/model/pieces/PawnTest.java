@@ -380,4 +380,44 @@ public class PawnTest {
         // Assert
         assertThat(moves).doesNotContain(new Move(pawnCoords, newEnemyCoords));
     }
+
+    @Test
+    public void whitePawnPromotesToEachPieceOnTheLastRank() {
+        // Arrange
+        Board board = Board.empty();
+        Piece pawn = new Pawn(PlayerColour.WHITE);
+        Coordinates coords = new Coordinates(1, 4);
+        board.placePiece(coords, pawn);
+
+        // Act
+        List<Move> moves = pawn.getAllowedMoves(coords, board);
+
+        // Assert
+        Coordinates target = coords.plus(-1, 0);
+        assertThat(moves).containsExactlyInAnyOrder(
+                new Move(coords, target, Piece.PieceType.QUEEN),
+                new Move(coords, target, Piece.PieceType.ROOK),
+                new Move(coords, target, Piece.PieceType.BISHOP),
+                new Move(coords, target, Piece.PieceType.KNIGHT));
+    }
+
+    @Test
+    public void blackPawnCapturesAndPromotes() {
+        // Arrange
+        Board board = Board.empty();
+        Piece pawn = new Pawn(PlayerColour.BLACK);
+        Coordinates pawnCoords = new Coordinates(6, 3);
+        board.placePiece(pawnCoords, pawn);
+        board.placePiece(pawnCoords.plus(1, 0), new Rook(PlayerColour.WHITE));
+        Coordinates enemyCoords = pawnCoords.plus(1, 1);
+        board.placePiece(enemyCoords, new Knight(PlayerColour.WHITE));
+
+        // Act
+        List<Move> moves = pawn.getAllowedMoves(pawnCoords, board);
+
+        // Assert
+        assertThat(moves).hasSize(4);
+        assertThat(moves).contains(new Move(pawnCoords, enemyCoords, Piece.PieceType.KNIGHT));
+        assertThat(moves).doesNotContain(new Move(pawnCoords, enemyCoords));
+    }
 }
@@ -0,0 +1,98 @@
+package training.chessington.pgn;
+
+import org.junit.Test;
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PgnReaderTest {
+    private static final String TWO_GAMES =
+            "[Event \"Casual \\\"blitz\\\"\"]\n"
+                    + "[White \"Anderssen\"]\n"
+                    + "[Result \"1-0\"]\n"
+                    + "\n"
+                    + "1. e4 e5 2. Nf3 {a comment} Nc6 (2... d6 3. d4) 3.Bc4 $1 Bc5?! ; rest of line\n"
+                    + "4. O-O 1-0\n"
+                    + "\n"
+                    + "% escaped line [Event \"Ignored\"]\n"
+                    + "[Event \"Second\"]\n"
+                    + "[SetUp \"1\"]\n"
+                    + "[FEN \"4k3/8/8/8/8/8/8/R3K3 b Q - 0 10\"]\n"
+                    + "\n"
+                    + "10... Kd7 11. O-O-O+ *\n";
+
+    @Test
+    public void readsGamesOneAtATime() throws IOException {
+        // Arrange
+        PgnReader reader = reader(TWO_GAMES, 16);
+
+        // Act
+        PgnGame first = reader.next();
+        PgnGame second = reader.next();
+        PgnGame end = reader.next();
+
+        // Assert
+        assertThat(first.getTag("Event")).isEqualTo("Casual \"blitz\"");
+        assertThat(first.getTags()).containsOnlyKeys("Event", "White", "Result");
+        assertThat(first.getMoves()).containsExactly("e4", "e5", "Nf3", "Nc6", "Bc4", "Bc5", "O-O");
+        assertThat(first.getResult()).isEqualTo("1-0");
+        assertThat(second.getTag("Event")).isEqualTo("Second");
+        assertThat(second.getMoves()).containsExactly("Kd7", "O-O-O+");
+        assertThat(second.getResult()).isEqualTo(PgnGame.UNKNOWN_RESULT);
+        assertThat(end).isNull();
+    }
+
+    @Test
+    public void replaysFromTheStartingFen() throws IOException, InvalidMoveException {
+        // Arrange
+        PgnReader reader = reader(TWO_GAMES, PgnReader.DEFAULT_BUFFER_SIZE);
+        PgnGame first = reader.next();
+        PgnGame second = reader.next();
+
+        // Act
+        Game afterFirst = first.replay();
+        Game afterSecond = second.replay();
+
+        // Assert
+        assertThat(afterFirst.toFen()).isEqualTo("r1bqk1nr/pppp1ppp/2n5/2b1p3/2B1P3/5N2/PPPP1PPP/RNBQ1RK1 b kq - 5 4");
+        assertThat(afterSecond.toFen()).isEqualTo("8/3k4/8/8/8/8/8/2KR4 b - - 2 11");
+    }
+
+    @Test
+    public void gameWithoutResultEndsAtTheNextTagSection() throws IOException {
+        // Arrange
+        PgnReader reader = reader("[Event \"A\"]\n\n1. d4 d5\n\n[Event \"B\"]\n\n1. c4 1/2-1/2\n", 8);
+
+        // Act
+        PgnGame first = reader.next();
+        PgnGame second = reader.next();
+
+        // Assert
+        assertThat(first.getMoves()).containsExactly("d4", "d5");
+        assertThat(first.getResult()).isEqualTo(PgnGame.UNKNOWN_RESULT);
+        assertThat(second.getTag("Event")).isEqualTo("B");
+        assertThat(second.getResult()).isEqualTo("1/2-1/2");
+    }
+
+    @Test
+    public void decodesMultiByteCharactersSplitAcrossBuffers() throws IOException {
+        // Arrange
+        PgnReader reader = reader("[White \"Nepomniachtchi, Ян\"]\n\n*\n", 5);
+
+        // Act
+        PgnGame game = reader.next();
+
+        // Assert
+        assertThat(game.getTag("White")).isEqualTo("Nepomniachtchi, Ян");
+    }
+
+    private static PgnReader reader(String pgn, int bufferSize) {
+        return new PgnReader(Channels.newChannel(new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8))), bufferSize);
+    }
+}
@@ -0,0 +1,80 @@
+package training.chessington.pgn;
+
+import org.junit.Test;
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+import training.chessington.model.Move;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class PgnWriterTest {
+    @Test
+    public void writesTagsAndNumberedMovetext() throws IOException {
+        // Arrange
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("Event", "Club \"final\"");
+        tags.put("Result", "0-1");
+        PgnGame game = new PgnGame(tags, Arrays.asList("f3", "e5", "g4", "Qh4#"), "0-1");
+        StringWriter out = new StringWriter();
+
+        // Act
+        new PgnWriter(out).write(game);
+
+        // Assert
+        assertThat(out.toString()).isEqualTo(
+                "[Event \"Club \\\"final\\\"\"]\n[Result \"0-1\"]\n\n1. f3 e5 2. g4 Qh4# 0-1\n\n");
+    }
+
+    @Test
+    public void startsWithEllipsisWhenBlackMovesFirst() throws IOException {
+        // Arrange
+        Map<String, String> tags = new LinkedHashMap<>();
+        tags.put("FEN", "4k3/8/8/8/8/8/8/4K3 b - - 0 7");
+        PgnGame game = new PgnGame(tags, Arrays.asList("Kd7", "Kd2", "Kc6"), "*");
+        StringWriter out = new StringWriter();
+
+        // Act
+        new PgnWriter(out).write(game);
+
+        // Assert
+        assertThat(out.toString()).endsWith("\n\n7... Kd7 8. Kd2 Kc6 *\n\n");
+    }
+
+    @Test
+    public void wrapsLongMovetextAndReadsBack() throws IOException, InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+        List<String> moves = new ArrayList<>();
+        String[] ruyLopez = {"e4", "e5", "Nf3", "Nc6", "Bb5", "a6", "Ba4", "Nf6", "O-O", "Be7", "Re1", "b5",
+                "Bb3", "d6", "c3", "O-O", "h3", "Nb8", "d4", "Nbd7", "c4", "c6", "cxb5", "axb5", "Nc3", "Bb7"};
+        for (String san : ruyLopez) {
+            Move move = San.parse(san, game);
+            moves.add(San.format(move, game));
+            game.makeMove(move);
+        }
+        StringWriter out = new StringWriter();
+
+        // Act
+        new PgnWriter(out).write(new PgnGame(new LinkedHashMap<>(), moves, "1/2-1/2"));
+        PgnGame readBack = new PgnReader(Channels.newChannel(
+                new ByteArrayInputStream(out.toString().getBytes(StandardCharsets.UTF_8)))).next();
+
+        // Assert
+        for (String line : out.toString().split("\n")) {
+            assertThat(line.length()).isLessThanOrEqualTo(80);
+        }
+        assertThat(readBack.getMoves()).isEqualTo(moves);
+        assertThat(readBack.getResult()).isEqualTo("1/2-1/2");
+    }
+}
@@ -0,0 +1,113 @@
+package training.chessington.pgn;
+
+import org.junit.Test;
+import training.chessington.model.Coordinates;
+import training.chessington.model.Game;
+import training.chessington.model.InvalidMoveException;
+import training.chessington.model.Move;
+import training.chessington.model.pieces.Piece;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SanTest {
+    @Test
+    public void parsesPawnAndPieceMoves() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+
+        // Act
+        Move pawn = San.parse("e4", game);
+        Move knight = San.parse("Nf3", game);
+
+        // Assert
+        assertThat(pawn).isEqualTo(Move.of(Coordinates.of(6, 4), Coordinates.of(4, 4)));
+        assertThat(knight).isEqualTo(Move.of(Coordinates.of(7, 6), Coordinates.of(5, 5)));
+    }
+
+    @Test
+    public void parsesCastlingWithSuffixes() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("r3k2r/8/8/8/8/8/8/R3K2R b KQkq - 0 1");
+
+        // Act
+        Move kingside = San.parse("O-O+", game);
+        Move queenside = San.parse("O-O-O!?", game);
+
+        // Assert
+        assertThat(kingside).isEqualTo(Move.of(Coordinates.of(0, 4), Coordinates.of(0, 6)));
+        assertThat(queenside).isEqualTo(Move.of(Coordinates.of(0, 4), Coordinates.of(0, 2)));
+    }
+
+    @Test
+    public void usesDisambiguationToPickThePiece() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("4k3/8/8/8/8/8/4K3/R6R w - - 0 1");
+
+        // Act
+        Move move = San.parse("Rhf1", game);
+
+        // Assert
+        assertThat(move).isEqualTo(Move.of(Coordinates.of(7, 7), Coordinates.of(7, 5)));
+        assertThatThrownBy(() -> San.parse("Rf1", game))
+                .isInstanceOf(InvalidMoveException.class)
+                .hasMessageContaining("ambiguous");
+    }
+
+    @Test
+    public void enPassantTargetsThePassedOverSquare() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 2");
+
+        // Act
+        Move move = San.parse("exd6", game);
+
+        // Assert
+        assertThat(move).isEqualTo(Move.of(Coordinates.of(3, 4), Coordinates.of(3, 3)));
+        assertThat(San.format(move, game)).isEqualTo("exd6");
+    }
+
+    @Test
+    public void rejectsMovesThatAreNotAllowed() {
+        // Arrange
+        Game game = Game.fromFen("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1");
+
+        // Act / Assert
+        assertThatThrownBy(() -> San.parse("e5", game)).isInstanceOf(InvalidMoveException.class);
+        assertThatThrownBy(() -> San.parse("O-O", game)).isInstanceOf(InvalidMoveException.class);
+        assertThatThrownBy(() -> San.parse("Zf3", game)).isInstanceOf(InvalidMoveException.class);
+    }
+
+    @Test
+    public void formatsCapturesDisambiguationAndMate() {
+        // Arrange
+        Game rooks = Game.fromFen("4k3/8/8/8/8/8/4K3/R6R w - - 0 1");
+        Game files = Game.fromFen("4k3/8/8/8/R7/8/8/R3K3 w - - 0 1");
+        Game mate = Game.fromFen("6k1/5ppp/8/8/8/8/8/R3K3 w - - 0 1");
+        Game capture = Game.fromFen("4k3/8/8/3p4/8/2N5/8/4K3 w - - 0 1");
+
+        // Act / Assert
+        assertThat(San.format(Move.of(Coordinates.of(7, 7), Coordinates.of(7, 5)), rooks)).isEqualTo("Rhf1");
+        assertThat(San.format(Move.of(Coordinates.of(4, 0), Coordinates.of(6, 0)), files)).isEqualTo("R4a2");
+        assertThat(San.format(Move.of(Coordinates.of(7, 0), Coordinates.of(0, 0)), mate)).isEqualTo("Ra8#");
+        assertThat(San.format(Move.of(Coordinates.of(5, 2), Coordinates.of(3, 3)), capture)).isEqualTo("Nxd5");
+        assertThat(San.format(Move.of(Coordinates.of(7, 4), Coordinates.of(7, 6)), Game.fromFen("4k3/8/8/8/8/8/8/4K2R w K - 0 1")))
+                .isEqualTo("O-O");
+    }
+
+    @Test
+    public void readsAndWritesPromotions() throws InvalidMoveException {
+        // Arrange
+        Game game = Game.fromFen("3r3k/4P3/8/8/8/8/8/K7 w - - 0 1");
+
+        // Act
+        Move push = San.parse("e8=Q+", game);
+        Move capture = San.parse("exd8N", game);
+
+        // Assert
+        assertThat(push).isEqualTo(Move.of(Coordinates.of(1, 4), Coordinates.of(0, 4)).withPromotion(Piece.PieceType.QUEEN));
+        assertThat(capture.getPromotion()).isEqualTo(Piece.PieceType.KNIGHT);
+        assertThat(San.format(push, game)).isEqualTo("e8=Q+");
+        assertThat(San.format(capture, game)).isEqualTo("exd8=N");
+        assertThatThrownBy(() -> San.parse("e8", game)).isInstanceOf(InvalidMoveException.class);
+    }
+}
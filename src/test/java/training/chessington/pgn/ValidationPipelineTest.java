@@ -0,0 +1,75 @@
+package training.chessington.pgn;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ValidationPipelineTest {
+    private static final String LEGAL = "[Event \"Legal\"]\n\n1. e4 e5 2. Nf3 Nc6 1-0\n\n";
+    private static final String ILLEGAL = "[Event \"Illegal\"]\n\n1. e4 e5 2. Ke3 Nc6 0-1\n\n";
+    private static final String BAD_FEN = "[Event \"Bad FEN\"]\n[FEN \"not a position\"]\n\n1. e4 *\n\n";
+
+    @Test
+    public void reportsLegalAndIllegalGames() throws IOException, InterruptedException {
+        // Arrange
+        List<ValidationResult> results = new ArrayList<>();
+
+        // Act
+        long games;
+        try (ValidationPipeline pipeline = new ValidationPipeline(2, 4)) {
+            games = pipeline.validate(reader(LEGAL + ILLEGAL + BAD_FEN), results::add);
+        }
+
+        // Assert
+        assertThat(games).isEqualTo(3);
+        assertThat(results.get(0).isLegal()).isTrue();
+        assertThat(results.get(0).getPly()).isEqualTo(4);
+        assertThat(results.get(0).getFinalFen()).isEqualTo("r1bqkbnr/pppp1ppp/2n5/4p3/4P3/5N2/PPPP1PPP/RNBQKB1R w KQkq - 2 3");
+        assertThat(results.get(1).isLegal()).isFalse();
+        assertThat(results.get(1).getPly()).isEqualTo(3);
+        assertThat(results.get(1).getReason()).contains("Ke3");
+        assertThat(results.get(1).getFinalFen()).isEqualTo("rnbqkbnr/pppp1ppp/8/4p3/4P3/8/PPPP1PPP/RNBQKBNR w KQkq e6 0 2");
+        assertThat(results.get(2).isLegal()).isFalse();
+        assertThat(results.get(2).getPly()).isEqualTo(0);
+    }
+
+    @Test
+    public void keepsInputOrderWithManyWorkers() throws IOException, InterruptedException {
+        // Arrange
+        StringBuilder pgn = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            pgn.append(i % 3 == 0 ? ILLEGAL : LEGAL);
+        }
+        List<ValidationResult> results = new ArrayList<>();
+
+        // Act
+        try (ValidationPipeline pipeline = new ValidationPipeline(4, 3)) {
+            pipeline.validate(reader(pgn.toString()), results::add);
+        }
+
+        // Assert
+        assertThat(results).hasSize(200);
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).getGameNumber()).isEqualTo(i + 1);
+            assertThat(results.get(i).isLegal()).isEqualTo(i % 3 != 0);
+        }
+    }
+
+    @Test
+    public void rejectsEmptyPool() {
+        // Act / Assert
+        assertThatThrownBy(() -> new ValidationPipeline(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ValidationPipeline(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static PgnReader reader(String pgn) {
+        return new PgnReader(Channels.newChannel(new ByteArrayInputStream(pgn.getBytes(StandardCharsets.UTF_8))));
+    }
+}
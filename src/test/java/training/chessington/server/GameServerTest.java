@@ -0,0 +1,149 @@
+package training.chessington.server;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class GameServerTest {
+    private GameServer server;
+
+    @After
+    public void tearDown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void keepsAGamePerSession() throws IOException {
+        // Arrange
+        server = new GameServer(0, 10);
+
+        try (Client first = new Client(); Client second = new Client()) {
+            // Act
+            first.request("move e2e4");
+            second.request("move d2d4");
+
+            // Assert
+            assertThat(first.request("fen")).contains("/4P3/");
+            assertThat(second.request("fen")).contains("/3P4/");
+        }
+    }
+
+    @Test
+    public void endsSessionsOnQuit() throws Exception {
+        // Arrange
+        server = new GameServer(0, 10);
+
+        try (Client client = new Client()) {
+            // Act
+            String reply = client.request("quit");
+
+            // Assert
+            assertThat(reply).isEqualTo("ok bye");
+            assertThat(client.in.readLine()).isNull();
+        }
+        awaitSessionCount(0);
+    }
+
+    @Test
+    public void skipsOverlongLines() throws IOException {
+        // Arrange
+        server = new GameServer(0, 10);
+        StringBuilder line = new StringBuilder("move ");
+        for (int i = 0; i < GameServer.MAX_LINE_LENGTH; i++) {
+            line.append('e');
+        }
+
+        try (Client client = new Client()) {
+            // Act
+            String reply = client.request(line.toString());
+
+            // Assert
+            assertThat(reply).startsWith("error line longer than");
+            assertThat(client.request("move e2e4")).startsWith("ok");
+        }
+    }
+
+    @Test
+    public void turnsAwayClientsOverTheSessionLimit() throws Exception {
+        // Arrange
+        server = new GameServer(0, 1);
+
+        try (Client first = new Client(); Client second = new Client()) {
+            first.request("fen");
+
+            // Act
+            String reply = second.in.readLine();
+
+            // Assert
+            assertThat(reply).isEqualTo("error server full");
+            assertThat(server.getSessionCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void closesIdleSessions() throws IOException {
+        // Arrange
+        server = new GameServer(0, 10, 50);
+
+        try (Client client = new Client()) {
+            // Act
+            String reply = client.in.readLine();
+
+            // Assert
+            assertThat(reply).isNull();
+        }
+    }
+
+    @Test
+    public void servesTheLoadClient() throws Exception {
+        // Arrange
+        server = new GameServer(0, 100);
+
+        // Act
+        long[] latencies = new LoadClient(server.getPort(), 20, 50).run();
+
+        // Assert
+        assertThat(latencies).hasSize(1000);
+        assertThat(LoadClient.percentile(latencies, 0.5)).isPositive();
+    }
+
+    private void awaitSessionCount(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (server.getSessionCount() != count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(server.getSessionCount()).isEqualTo(count);
+    }
+
+    private class Client implements AutoCloseable {
+        private final Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+        private final BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        private final OutputStream out = socket.getOutputStream();
+
+        private Client() throws IOException {
+        }
+
+        String request(String command) throws IOException {
+            out.write((command + "\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            return in.readLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package training.chessington.server;
+
+import org.junit.Test;
+import training.chessington.model.GameResult;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class GameSessionTest {
+    private final GameSession session = new GameSession();
+
+    @Test
+    public void playsMovesInLongAlgebraicAndSan() {
+        // Act
+        String first = session.execute("move e2e4");
+        String second = session.execute("move Nf6");
+
+        // Assert
+        assertThat(first).isEqualTo("ok rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        assertThat(second).isEqualTo("ok rnbqkb1r/pppppppp/5n2/8/4P3/8/PPPP1PPP/RNBQKBNR w KQkq - 1 2");
+    }
+
+    @Test
+    public void refusesIllegalMovesWithoutChangingThePosition() {
+        // Act
+        String algebraic = session.execute("move e2e5");
+        String san = session.execute("move Ke2");
+
+        // Assert
+        assertThat(algebraic).startsWith("illegal");
+        assertThat(san).startsWith("illegal");
+        assertThat(session.execute("fen")).endsWith(" w KQkq - 0 1");
+    }
+
+    @Test
+    public void reportsTheResultWhenTheGameEnds() {
+        // Arrange
+        session.execute("new 6k1/5ppp/8/8/8/8/8/K3R3 w - - 0 1");
+
+        // Act
+        String reply = session.execute("move e1e8");
+
+        // Assert
+        assertThat(reply).endsWith(" result " + GameResult.CHECKMATE);
+        assertThat(session.execute("moves")).isEqualTo("ok");
+        assertThat(session.execute("move Kb2")).startsWith("illegal");
+    }
+
+    @Test
+    public void listsLegalMoves() {
+        // Arrange
+        session.execute("new 7k/P7/8/8/8/8/8/K7 w - - 0 1");
+
+        // Act
+        String reply = session.execute("moves");
+
+        // Assert
+        assertThat(reply.split(" ")).containsExactlyInAnyOrder("ok", "a7a8q", "a7a8r", "a7a8b", "a7a8n",
+                "a1a2", "a1b1", "a1b2");
+    }
+
+    @Test
+    public void onlyAllowsDrawClaimsWithGrounds() {
+        // Arrange
+        session.execute("new 6k1/8/8/8/8/8/8/K6R w - - 99 80");
+        String early = session.execute("draw");
+        session.execute("move Rh2");
+
+        // Act
+        String reply = session.execute("draw");
+
+        // Assert
+        assertThat(early).startsWith("illegal");
+        assertThat(reply).endsWith(" result " + GameResult.FIFTY_MOVE_RULE);
+    }
+
+    @Test
+    public void reportsMalformedCommands() {
+        // Act
+        String unknown = session.execute("resign");
+        String badFen = session.execute("new not a fen");
+        String noMove = session.execute("move");
+
+        // Assert
+        assertThat(unknown).isEqualTo("error unknown command resign");
+        assertThat(badFen).startsWith("error");
+        assertThat(noMove).startsWith("error");
+        assertThat(session.isClosed()).isFalse();
+    }
+
+    @Test
+    public void closesOnQuit() {
+        // Act
+        session.execute("quit");
+
+        // Assert
+        assertThat(session.isClosed()).isTrue();
+    }
+}
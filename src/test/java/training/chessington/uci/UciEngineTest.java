@@ -0,0 +1,131 @@
+package training.chessington.uci;
+
+import org.junit.Test;
+import training.chessington.engine.EngineConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class UciEngineTest {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final UciEngine engine = new UciEngine(new ByteArrayInputStream(new byte[0]),
+            new PrintStream(output, true), new EngineConfig());
+
+    @Test
+    public void answersHandshakeWithOptions() {
+        // Act
+        engine.execute("uci");
+        engine.execute("isready");
+
+        // Assert
+        assertThat(lines()).contains("uciok", "readyok");
+        assertThat(linesStartingWith("option name Hash type spin")).hasSize(1);
+        assertThat(linesStartingWith("option name Threads type spin")).hasSize(1);
+    }
+
+    @Test
+    public void searchesThePositionAfterTheGivenMoves() {
+        // Act
+        engine.execute("position fen 6k1/p4ppp/8/8/8/8/8/K3R3 b - - 0 1 moves a7a6");
+        engine.execute("go depth 3");
+        engine.awaitSearch();
+
+        // Assert
+        assertThat(lines()).contains("bestmove e1e8");
+        assertThat(linesStartingWith("info depth")).allMatch(line -> line.contains("score mate 1"));
+    }
+
+    @Test
+    public void seesRepetitionsOfPositionsBeforeTheSearch() {
+        // Act
+        engine.execute("position fen 7k/8/8/3q4/8/8/8/K1N5 w - - 10 40 moves c1e2 d5d6 e2c1 d6d5");
+        engine.execute("go depth 3");
+        engine.awaitSearch();
+
+        // Assert
+        assertThat(lines()).contains("bestmove c1e2");
+        assertThat(linesStartingWith("info depth 3")).allMatch(line -> line.contains("score cp 0"));
+    }
+
+    @Test
+    public void reportsNullMoveWhenThereAreNoMoves() {
+        // Act
+        engine.execute("position fen 7k/5Q2/6K1/8/8/8/8/8 b - - 0 1");
+        engine.execute("go depth 2");
+        engine.awaitSearch();
+
+        // Assert
+        assertThat(lines()).contains("bestmove 0000");
+    }
+
+    @Test
+    public void infiniteSearchWaitsForStop() throws InterruptedException {
+        // Act
+        engine.execute("position startpos moves e2e4");
+        engine.execute("go infinite depth 1");
+        Thread.sleep(100);
+        List<String> beforeStop = linesStartingWith("bestmove");
+        engine.execute("stop");
+        engine.awaitSearch();
+
+        // Assert
+        assertThat(beforeStop).isEmpty();
+        assertThat(linesStartingWith("bestmove")).hasSize(1);
+    }
+
+    @Test
+    public void ponderHitReleasesTheBestMove() throws InterruptedException {
+        // Act
+        engine.execute("position startpos");
+        engine.execute("go ponder wtime 3000 btime 3000");
+        Thread.sleep(50);
+        List<String> beforePonderHit = linesStartingWith("bestmove");
+        engine.execute("ponderhit");
+        engine.awaitSearch();
+
+        // Assert
+        assertThat(beforePonderHit).isEmpty();
+        assertThat(linesStartingWith("bestmove")).hasSize(1);
+    }
+
+    @Test
+    public void reportsBadInputWithoutStopping() {
+        // Act
+        engine.execute("position startpos moves e2e5");
+        engine.execute("go depth x");
+        engine.execute("setoption name Threads value 2");
+        engine.execute("go depth 2");
+        engine.awaitSearch();
+
+        // Assert
+        assertThat(lines()).contains("info string illegal move e2e5", "info string malformed command: go depth x");
+        assertThat(linesStartingWith("bestmove")).hasSize(1);
+    }
+
+    @Test
+    public void quitStopsARunningSearch() {
+        // Act
+        engine.execute("position startpos");
+        engine.execute("go infinite");
+        boolean keepRunning = engine.execute("quit");
+
+        // Assert
+        assertThat(keepRunning).isFalse();
+        assertThat(linesStartingWith("bestmove")).hasSize(1);
+    }
+
+    private List<String> linesStartingWith(String prefix) {
+        return lines().stream().filter(line -> line.startsWith(prefix)).collect(Collectors.toList());
+    }
+
+    private List<String> lines() {
+        return Arrays.asList(new String(output.toByteArray(), StandardCharsets.UTF_8).split("\\R"));
+    }
+}